@@ -2,6 +2,8 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.5.6"
 	id("io.spring.dependency-management") version "1.1.7"
+	// Microbenchmarks in src/jmh (./gradlew jmh)
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.DAT250Project"
@@ -20,6 +22,9 @@ repositories {
 
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("org.springframework.boot:spring-boot-starter-websocket")
+	// Metrics (Micrometer) and the /actuator endpoints
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	//testImplementation("org.springframework.boot:spring-boot-starter-test")
 
     //added
@@ -43,9 +48,12 @@ dependencies {
     implementation("io.lettuce:lettuce-core:6.3.2.RELEASE")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation ("io.lettuce:lettuce-core:6.4.2.RELEASE") // or newer
 
     implementation ("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
+    // Binary JSON (Smile) for the values cached in Redis
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
 
     // Spring Security (authentication/authorization)
     implementation("org.springframework.boot:spring-boot-starter-security")
@@ -58,6 +66,12 @@ dependencies {
 
 }
 
+jmh {
+	warmupIterations = 3
+	iterations = 5
+	fork = 1
+}
+
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
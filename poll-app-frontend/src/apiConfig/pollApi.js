@@ -1,12 +1,13 @@
-import axiosConfig from "../axiosConfig";
+import axiosConfig, { getPage } from "../axiosConfig";
 
 /**
- * Fetches all polls.
- * @returns {Promise<Array>} Array of poll objects.
+ * Fetches one page of polls, newest first.
+ * @param {string} [cursor] - Cursor of the next page, as returned by the previous call.
+ * @returns {Promise<{polls: Array, nextCursor: (string|null)}>} The polls of the page and the cursor of the next one.
  */
-export const getAllPolls = async () => {
-    const response = await axiosConfig.get("/polls");
-    return response.data;
+export const getAllPolls = async (cursor) => {
+    const page = await getPage("/polls", cursor);
+    return { polls: page.items, nextCursor: page.nextCursor };
 };
 
 /**
@@ -60,13 +61,14 @@ export const deleteOption = async (pollId, optionId) => {
 };
 
 /**
- * Fetches a private poll by ID.
- * @param {string} pollId - The ID of the private poll.
- * @returns {Promise<Object>} Poll object.
+ * Fetches one page of the private polls of a user, newest first.
+ * @param {string} userId - The ID of the user whose private polls are listed.
+ * @param {string} [cursor] - Cursor of the next page, as returned by the previous call.
+ * @returns {Promise<{polls: Array, nextCursor: (string|null)}>} The poll summaries of the page and the cursor of the next one.
  */
-export const getPrivatePollById = async (pollId) => {
-    const response = await axiosConfig.get(`/polls/private/${pollId}`);
-    return response.data;
+export const getPrivatePollById = async (userId, cursor) => {
+    const page = await getPage(`/polls/private/${userId}`, cursor);
+    return { polls: page.items, nextCursor: page.nextCursor };
 };
 
 /**
@@ -91,14 +93,39 @@ export const getPollResults = async (pollId) => {
 };
 
 /**
- * Fetches all public polls.
- * @returns {Promise<Array>} Array of public poll objects.
+ * Fetches detailed poll results (vote count, caption and order for each option).
+ * @param {string} pollId - Poll ID.
+ * @returns {Promise<Object>} Object with pollId, totalVotes and an ordered options array.
  */
-export const getAllPublicPolls = async () => {
-    const response = await axiosConfig.get("/polls/public");
+export const getDetailedPollResults = async (pollId) => {
+    const response = await axiosConfig.get(`/polls/${pollId}/results/detailed`);
     return response.data;
 };
 
+/**
+ * Subscribes to the live results of a poll (Server-Sent Events).
+ * The callback receives the current detailed results, then every update.
+ * @param {string} pollId - Poll ID.
+ * @param {Function} onResults - Called with {pollId, totalVotes, options} on each update.
+ * @returns {Function} Call it to close the stream.
+ */
+export const subscribeToPollResults = (pollId, onResults) => {
+    const source = new EventSource(`${axiosConfig.defaults.baseURL}/polls/${pollId}/results/stream`);
+    source.addEventListener("results", (event) => onResults(JSON.parse(event.data)));
+    return () => source.close();
+};
+
+/**
+ * Fetches one page of public polls.
+ * @param {"active"|"expired"} [status] - Only active or only expired polls; all public polls if omitted.
+ * @param {string} [cursor] - Cursor of the next page, as returned by the previous call.
+ * @returns {Promise<{polls: Array, nextCursor: (string|null)}>} The poll summaries (id, question, validUntil, optionCount, creatorUsername, ...) of the page and the cursor of the next one.
+ */
+export const getPublicPolls = async (status, cursor) => {
+    const page = await getPage("/polls/public", cursor, { status });
+    return { polls: page.items, nextCursor: page.nextCursor };
+};
+
 /**
  * Fetches polls created by a specific user.
  * @param {string} userId - User ID.
@@ -1,4 +1,4 @@
-import axiosConfig from "../axiosConfig";
+import axiosConfig, { getPage } from "../axiosConfig";
 
 /**
  * Creates a new user.
@@ -11,12 +11,24 @@ export const createUser = async (userData) => {
 };
 
 /**
- * Fetches all users.
- * @returns {Promise<Array>} Array of user objects.
+ * Fetches one page of users.
+ * @param {string} [cursor] - Cursor of the next page, as returned by the previous call.
+ * @returns {Promise<{users: Array, nextCursor: (string|null)}>} The users of the page and the cursor of the next one.
  */
-export const getAllUsers = async () => {
-    const response = await axiosConfig.get("/users");
-    return response.data;
+export const getAllUsers = async (cursor) => {
+    const page = await getPage("/users", cursor);
+    return { users: page.items, nextCursor: page.nextCursor };
+};
+
+/**
+ * Fetches one page of the votes of a user, newest first.
+ * @param {string} userId - User ID.
+ * @param {string} [cursor] - Cursor of the next page, as returned by the previous call.
+ * @returns {Promise<{votes: Array, nextCursor: (string|null)}>} The votes ({ id, pollId, optionId, voterId, publishedAt }) of the page and the cursor of the next one.
+ */
+export const getUserVotes = async (userId, cursor) => {
+    const page = await getPage(`/users/${userId}/votes`, cursor);
+    return { votes: page.items, nextCursor: page.nextCursor };
 };
 
 /**
@@ -16,4 +16,17 @@ axiosConfig.interceptors.request.use((config) => {
     return config;
 });
 
+/**
+ * Fetches one page of a cursor-paged listing. Pages are loaded on demand (e.g. by a "Load more"
+ * button), so a listing is never downloaded as a whole.
+ * @param {string} url - Listing URL (e.g. "/polls").
+ * @param {string} [cursor] - Cursor of the page, as returned with the previous one; the first page if omitted.
+ * @param {Object} [params] - Other query parameters.
+ * @returns {Promise<{items: Array, nextCursor: (string|null)}>} The items of the page and the cursor of the next one.
+ */
+export const getPage = async (url, cursor, params = {}) => {
+    const response = await axiosConfig.get(url, { params: { ...params, cursor: cursor ?? undefined } });
+    return { items: response.data, nextCursor: response.headers["x-next-cursor"] ?? null };
+};
+
 export default axiosConfig;
\ No newline at end of file
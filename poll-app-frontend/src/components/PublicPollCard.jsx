@@ -12,8 +12,8 @@ import { useNavigate } from "react-router-dom";
  * @param {string} props.poll.id - Poll ID
  * @param {string} props.poll.question - Poll question
  * @param {string} props.poll.validUntil - Poll expiration date
- * @param {Array} props.poll.options - Array of poll options
- * @param {Object} props.poll.createdBy - User who created the poll
+ * @param {number} props.poll.optionCount - Number of poll options
+ * @param {string} props.poll.creatorUsername - Username of the user who created the poll
  * @param {Function} [props.onVote] - Optional callback function when user votes
  * @returns {JSX.Element} Rendered PublicPollCard component
  */
@@ -24,8 +24,7 @@ const PublicPollCard = ({ poll, onVote }) => {
     const isExpired =
         !poll.validUntil ||
         new Date(poll.validUntil) < new Date() ||
-        !poll.options ||
-        poll.options.length === 0;
+        !poll.optionCount;
 
     /**
      * Handles clicking the vote button.
@@ -43,7 +42,7 @@ const PublicPollCard = ({ poll, onVote }) => {
                 <div className="poll-header-text">
                     <h2 className="poll-question">{poll.question}</h2>
                     <p className="poll-meta">
-                        Created by <strong>{poll.createdBy?.username || "Unknown"}</strong> | Valid until:{" "}
+                        Created by <strong>{poll.creatorUsername || "Unknown"}</strong> | Valid until:{" "}
                         {poll.validUntil ? new Date(poll.validUntil).toLocaleDateString() : "N/A"}
                     </p>
                 </div>
@@ -14,16 +14,17 @@ import { createVoteApi, updateVoteApi, getPollResults } from "../apiConfig/pollA
  * @param {Array} props.poll.options - Array of poll options
  * @param {Object} props.poll.createdBy - User who created the poll
  * @param {string} props.poll.validUntil - Poll expiration date
+ * @param {string} [props.votedOptionId] - Option the logged-in user already voted for, if any
  * @returns {JSX.Element} Rendered VotingCard
  */
-const VotingCard = ({ poll }) => {
+const VotingCard = ({ poll, votedOptionId }) => {
     /** Currently logged-in user */
     const loggedUser = JSON.parse(localStorage.getItem("user"));
     const userId = loggedUser?.id;
 
-    /** Poll options with vote data */
+    /** Poll options with vote counts (filled in from the poll results) */
     const [options, setOptions] = useState(
-        poll.options.map((o) => ({ ...o, votes: o.votes || [] }))
+        poll.options.map((o) => ({ ...o, votesCount: 0 }))
     );
 
     /** Currently selected option ID for voting */
@@ -46,16 +47,12 @@ const VotingCard = ({ poll }) => {
         poll.options.length === 0;
 
     useEffect(() => {
-        const userVote = poll.options.find((opt) =>
-            opt.votes?.some((v) => v.voterId === userId)
-        );
-
-        if (userVote) {
+        if (votedOptionId) {
             setAlreadyVoted(true);
-            setExistingVoteOptionId(userVote.id);
-            setSelectedOptionId(userVote.id);
+            setExistingVoteOptionId(votedOptionId);
+            setSelectedOptionId(votedOptionId);
         }
-    }, [poll, userId]);
+    }, [votedOptionId]);
 
     useEffect(() => {
         const loadCounts = async () => {
@@ -95,6 +92,7 @@ const VotingCard = ({ poll }) => {
         } catch (err) {
             if (err.response?.status === 409) {
                 alert("You already voted!");
+                setAlreadyVoted(true);
             } else {
                 alert("Error submitting vote");
             }
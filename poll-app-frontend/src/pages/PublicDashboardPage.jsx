@@ -3,7 +3,7 @@ import PublicPollCard from "../components/PublicPollCard";
 import Header from "../components/Header";
 import "../styles/Dashboard.css";
 import { useNavigate } from "react-router-dom";
-import {getAllPolls, getAllPublicPolls} from "../apiConfig/pollApi";
+import { getPublicPolls } from "../apiConfig/pollApi";
 
 /**
  * PublicDashboardPage displays all public polls.
@@ -13,9 +13,12 @@ import {getAllPolls, getAllPublicPolls} from "../apiConfig/pollApi";
  * @returns {JSX.Element} Rendered PublicDashboardPage
  */
 const PublicDashboardPage = () => {
-    /** List of all public polls */
+    /** Public polls loaded so far (active or expired, depending on the toggle; the active ones all have options) */
     const [polls, setPolls] = useState([]);
 
+    /** Cursor of the next page of polls, or null when all were loaded */
+    const [nextCursor, setNextCursor] = useState(null);
+
     /** Flag to show only active polls */
     const [showActiveOnly, setShowActiveOnly] = useState(true);
 
@@ -25,26 +28,24 @@ const PublicDashboardPage = () => {
     /** Logged-in user info (if any) */
     const user = JSON.parse(localStorage.getItem("user"));
 
-    useEffect(() => {
-        const fetchPolls = async () => {
-            try {
-                const data = await getAllPublicPolls();
-                setPolls(data);
-            } catch (error) {
-                console.error("Error fetching public polls:", error);
-            }
-        };
-        fetchPolls();
-    }, []);
+    /**
+     * Fetches a page of active or expired polls from the server
+     * @param {string|null} cursor - Cursor of the page to load, null for the first page
+     */
+    const fetchPolls = async (cursor) => {
+        try {
+            const page = await getPublicPolls(showActiveOnly ? "active" : "expired", cursor ?? undefined);
+            setPolls((loaded) => (cursor ? [...loaded, ...page.polls] : page.polls));
+            setNextCursor(page.nextCursor);
+        } catch (error) {
+            console.error("Error fetching public polls:", error);
+        }
+    };
 
-    const filteredPolls = polls.filter((poll) => {
-        const now = new Date();
-        const validUntil = poll.validUntil ? new Date(poll.validUntil) : null;
-        const isActive = validUntil ? validUntil > now : false;
-        const hasOptions = poll.options && poll.options.length > 0;
-        const expired = !isActive || !hasOptions;
-        return showActiveOnly ? !expired : expired;
-    });
+    useEffect(() => {
+        fetchPolls(null);
+        // eslint-disable-next-line react-hooks/exhaustive-deps
+    }, [showActiveOnly]);
 
     /**
      * Handles navigation to voting page for a public poll
@@ -83,8 +84,8 @@ const PublicDashboardPage = () => {
                     <span className={showActiveOnly ? "active" : ""}>Active</span>
                 </div>
 
-                {filteredPolls.length > 0 ? (
-                    filteredPolls.map((poll) => (
+                {polls.length > 0 ? (
+                    polls.map((poll) => (
                         <PublicPollCard
                             key={poll.id}
                             poll={poll}
@@ -94,6 +95,12 @@ const PublicDashboardPage = () => {
                 ) : (
                     <p>No {showActiveOnly ? "active" : "expired"} polls found.</p>
                 )}
+
+                {nextCursor && (
+                    <button className="back-btn" onClick={() => fetchPolls(nextCursor)}>
+                        Load more
+                    </button>
+                )}
             </main>
         </div>
     );
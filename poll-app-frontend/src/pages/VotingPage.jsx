@@ -4,18 +4,28 @@ import Header from "../components/Header";
 import VotingCard from "../components/VotingCard";
 import "../styles/VotingPage.css";
 import { getAllPolls } from "../apiConfig/pollApi";
+import { getUserVotes } from "../apiConfig/userApi";
 
 /**
- * VotingPage renders all polls for a logged-in user.
+ * VotingPage renders the polls for a logged-in user, one page at a time ("Load more").
  * Users can view active or expired polls and vote on them using VotingCard.
  *
  * @component
  * @returns {JSX.Element} Rendered VotingPage
  */
 const VotingPage = () => {
-    /** All polls fetched from the backend */
+    /** Polls loaded so far, newest first */
     const [polls, setPolls] = useState([]);
 
+    /** Cursor of the next page of polls, or null when all were loaded */
+    const [nextPollsCursor, setNextPollsCursor] = useState(null);
+
+    /** Option the logged-in user voted for, by poll ID (for the votes loaded so far) */
+    const [votedOptions, setVotedOptions] = useState({});
+
+    /** Cursor of the next page of the user's votes, or null when all were loaded */
+    const [nextVotesCursor, setNextVotesCursor] = useState(null);
+
     /** Toggle to show only active polls */
     const [showActiveOnly, setShowActiveOnly] = useState(true);
 
@@ -25,18 +35,55 @@ const VotingPage = () => {
     /** Currently logged-in user from localStorage */
     const loggedUser = JSON.parse(localStorage.getItem("user"));
 
+    /**
+     * Fetches a page of polls
+     * @param {string|null} cursor - Cursor of the page to load, null for the first page
+     */
+    const fetchPolls = async (cursor) => {
+        try {
+            const page = await getAllPolls(cursor);
+            setPolls((loaded) => (cursor ? [...loaded, ...page.polls] : page.polls));
+            setNextPollsCursor(page.nextCursor);
+        } catch (error) {
+            console.error("Error loading polls:", error);
+        }
+    };
+
+    /**
+     * Fetches a page of the logged-in user's votes. A vote on a poll beyond the loaded pages
+     * is still caught when voting (the server answers 409).
+     * @param {string|null} cursor - Cursor of the page to load, null for the first page
+     */
+    const fetchVotes = async (cursor) => {
+        if (!loggedUser?.id) return;
+        try {
+            const page = await getUserVotes(loggedUser.id, cursor);
+            const voted = Object.fromEntries(page.votes.map((v) => [v.pollId, v.optionId]));
+            setVotedOptions((loaded) => (cursor ? { ...loaded, ...voted } : voted));
+            setNextVotesCursor(page.nextCursor);
+        } catch (error) {
+            console.error("Error loading votes:", error);
+        }
+    };
+
     useEffect(() => {
-        const fetchPolls = async () => {
-            try {
-                const data = await getAllPolls();
-                setPolls(data);
-            } catch (error) {
-                console.error("Error loading polls:", error);
-            }
-        };
-        fetchPolls();
+        fetchPolls(null);
+        // eslint-disable-next-line react-hooks/exhaustive-deps
     }, []);
 
+    useEffect(() => {
+        fetchVotes(null);
+        // eslint-disable-next-line react-hooks/exhaustive-deps
+    }, [loggedUser?.id]);
+
+    /** Loads the next page of polls, and of votes if the user has more */
+    const loadMore = () => {
+        fetchPolls(nextPollsCursor);
+        if (nextVotesCursor) {
+            fetchVotes(nextVotesCursor);
+        }
+    };
+
     const filteredPolls = polls.filter(poll => {
         const now = new Date();
         const validUntil = new Date(poll.validUntil);
@@ -69,11 +116,17 @@ const VotingPage = () => {
 
                 {filteredPolls.length > 0 ? (
                     filteredPolls.map(poll => (
-                        <VotingCard key={poll.id} poll={poll} />
+                        <VotingCard key={poll.id} poll={poll} votedOptionId={votedOptions[poll.id]} />
                     ))
                 ) : (
                     <p>No {showActiveOnly ? "active" : "expired"} polls available.</p>
                 )}
+
+                {nextPollsCursor && (
+                    <button className="back-btn" onClick={loadMore}>
+                        Load more
+                    </button>
+                )}
             </main>
         </div>
     );
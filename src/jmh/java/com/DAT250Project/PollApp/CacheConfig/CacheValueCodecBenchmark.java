@@ -0,0 +1,86 @@
+package com.DAT250Project.PollApp.CacheConfig;
+
+import com.DAT250Project.PollApp.dto.OptionResponse;
+import com.DAT250Project.PollApp.dto.PollResponse;
+import com.DAT250Project.PollApp.dto.UserSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a cached poll with the JSON serializer and with {@link CacheValueCodec}.
+ * The encoded sizes are printed once per trial. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheValueCodecBenchmark {
+
+    /** Options of the cached poll. */
+    @Param({"2", "10", "50"})
+    public int options;
+
+    private RedisSerializer<Object> json;
+    private RedisSerializer<Object> binary;
+
+    private PollResponse poll;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(new RedisConfig().objectMapper());
+        json = jsonSerializer;
+        binary = new CacheValueCodec(jsonSerializer);
+
+        poll = samplePoll(options);
+        jsonBytes = json.serialize(poll);
+        binaryBytes = binary.serialize(poll);
+        System.out.printf("%noptions=%d: json %d bytes, binary %d bytes (%.0f%%)%n", options,
+                jsonBytes.length, binaryBytes.length, 100.0 * binaryBytes.length / jsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.serialize(poll);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binary.serialize(poll);
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return binary.deserialize(binaryBytes);
+    }
+
+    private static PollResponse samplePoll(int options) {
+        UUID pollId = UUID.randomUUID();
+        Instant now = Instant.now();
+        List<OptionResponse> optionResponses = new ArrayList<>();
+        for (int i = 0; i < options; i++) {
+            optionResponses.add(new OptionResponse(UUID.randomUUID(), "Option " + (i + 1), i + 1, pollId));
+        }
+        return new PollResponse(pollId, "Which option is the best one?", now, now.plusSeconds(86_400), true,
+                new UserSummary(UUID.randomUUID(), "alice"), optionResponses, 1L);
+    }
+}
@@ -0,0 +1,30 @@
+// Package declaration for the cache layer
+package com.DAT250Project.PollApp.CacheConfig;
+
+// Java utility imports
+import java.util.UUID;
+
+/**
+ * A Redis cache key: a prefix ("poll", "user_polls", ...) and an optional id.
+ * Used by mutations to declare every entry they invalidate in one call.
+ *
+ * @param prefix the key prefix
+ * @param id     the entity id, or null for global keys like "all_polls"
+ */
+public record CacheKey(String prefix, UUID id) {
+
+    // Creates a key for one entity, e.g. CacheKey.of("poll", pollId) -> "poll:{pollId}"
+    public static CacheKey of(String prefix, UUID id) {
+        return new CacheKey(prefix, id);
+    }
+
+    // Creates a global key without id, e.g. CacheKey.of("all_polls") -> "all_polls"
+    public static CacheKey of(String prefix) {
+        return new CacheKey(prefix, null);
+    }
+
+    // The key as stored in Redis: "prefix:uuid", or just the prefix for global keys
+    public String key() {
+        return id == null ? prefix : prefix + ":" + id;
+    }
+}
@@ -0,0 +1,180 @@
+// Package declaration for the cache layer
+package com.DAT250Project.PollApp.CacheConfig;
+
+// Jackson imports
+import com.DAT250Project.PollApp.dto.OptionResponse;
+import com.DAT250Project.PollApp.dto.PollResponse;
+import com.DAT250Project.PollApp.dto.PollSummary;
+import com.DAT250Project.PollApp.dto.UserResponse;
+import com.DAT250Project.PollApp.dto.UserSummary;
+import com.DAT250Project.PollApp.dto.VoteResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+// Spring framework imports
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+// Java utility imports
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary format of the values cached in Redis.
+ * <p>
+ * Every value starts with a format version byte, then a type byte, then the value in
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> (binary JSON,
+ * without its 4-byte header). UUIDs are written as 16 raw bytes and instants as a decimal
+ * number of seconds, so a poll with its options takes far fewer bytes than JSON.
+ * </p>
+ * <p>
+ * The type byte names the DTO, or the element DTO of a list, from {@link #TYPES}, so it is read
+ * back as that record. Any other value is read back as plain maps and lists, like JSON without
+ * type information.
+ * </p>
+ * <p>
+ * With {@code app.cache.codec=json} the value after the two bytes is written as JSON instead
+ * (format {@link #FORMAT_JSON_V1}), readable in redis-cli but typed the same way. Both formats
+ * are always read, so the setting can be switched either way without a flush.
+ * </p>
+ * <p>
+ * Rolling upgrades: values written as JSON by an older node (they start with a printable
+ * character) are still read, and a value of a version or type this node does not know is
+ * read as null, that is a cache miss. Fields a DTO no longer has are skipped.
+ * </p>
+ */
+public class CacheValueCodec implements RedisSerializer<Object> {
+
+    // Version of the format below; bump it for any incompatible change
+    static final byte FORMAT_V1 = 1;
+    // The same format with a JSON body instead of Smile
+    static final byte FORMAT_JSON_V1 = 2;
+
+    // Type byte of a value without a registered type, and flag of a list of a registered type
+    private static final int UNTYPED = 0;
+    private static final int LIST_FLAG = 0x80;
+
+    // Registered types: the code of a type is its position + 1.
+    // Append only, never reorder or remove: cached values written by other nodes carry these codes.
+    private static final List<Class<?>> TYPES = List.of(
+            PollResponse.class,
+            OptionResponse.class,
+            VoteResponse.class,
+            UserResponse.class,
+            UserSummary.class,
+            PollSummary.class);
+
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper jsonMapper;
+    private final RedisSerializer<Object> legacySerializer;
+    private final byte writeFormat;
+
+    /**
+     * @param legacySerializer the serializer of the values written before this codec (JSON)
+     */
+    public CacheValueCodec(RedisSerializer<Object> legacySerializer) {
+        this(legacySerializer, false);
+    }
+
+    /**
+     * @param legacySerializer the serializer of the values written before this codec (JSON)
+     * @param writeJson        whether values are written with a JSON body rather than Smile
+     */
+    public CacheValueCodec(RedisSerializer<Object> legacySerializer, boolean writeJson) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .disable(SmileGenerator.Feature.WRITE_HEADER)
+                .disable(SmileParser.Feature.REQUIRE_HEADER)
+                // Back-references for repeated short strings (usernames, captions)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.smileMapper = configure(new ObjectMapper(smileFactory));
+        this.jsonMapper = configure(new ObjectMapper());
+        this.legacySerializer = legacySerializer;
+        this.writeFormat = writeJson ? FORMAT_JSON_V1 : FORMAT_V1;
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        // Values cached before a field was dropped from a DTO (e.g. OptionResponse.votes) still read
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(writeFormat);
+        out.write(typeOf(value));
+        try {
+            (writeFormat == FORMAT_V1 ? smileMapper : jsonMapper).writeValue(out, value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value of " + value.getClass().getName(), e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != FORMAT_V1 && bytes[0] != FORMAT_JSON_V1) {
+            // JSON written by an older node, otherwise a newer format: a miss
+            return isPrintable(bytes[0]) ? legacySerializer.deserialize(bytes) : null;
+        }
+        ObjectMapper mapper = bytes[0] == FORMAT_V1 ? smileMapper : jsonMapper;
+        if (bytes.length < 2) {
+            return null;
+        }
+
+        int type = bytes[1] & 0xFF;
+        int code = type & ~LIST_FLAG;
+        if (code > TYPES.size()) {
+            return null; // type registered by a newer node
+        }
+        try {
+            if (code == UNTYPED) {
+                return mapper.readValue(bytes, 2, bytes.length - 2, Object.class);
+            }
+            Class<?> valueType = TYPES.get(code - 1);
+            JavaType javaType = (type & LIST_FLAG) != 0
+                    ? mapper.getTypeFactory().constructCollectionType(ArrayList.class, valueType)
+                    : mapper.getTypeFactory().constructType(valueType);
+            return mapper.readValue(bytes, 2, bytes.length - 2, javaType);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache value", e);
+        }
+    }
+
+    // Type byte of a value: its registered type, the registered type of all elements of a list, or UNTYPED
+    private static int typeOf(Object value) {
+        if (value instanceof List<?> list) {
+            if (list.isEmpty()) {
+                return UNTYPED;
+            }
+            Class<?> elementType = list.get(0) == null ? null : list.get(0).getClass();
+            for (Object element : list) {
+                if (element == null || element.getClass() != elementType) {
+                    return UNTYPED;
+                }
+            }
+            int code = TYPES.indexOf(elementType) + 1;
+            return code == UNTYPED ? UNTYPED : code | LIST_FLAG;
+        }
+        return TYPES.indexOf(value.getClass()) + 1;
+    }
+
+    private static boolean isPrintable(byte first) {
+        return first >= 0x20 && first < 0x7F;
+    }
+}
@@ -0,0 +1,159 @@
+// Package declaration for the cache layer
+package com.DAT250Project.PollApp.CacheConfig;
+
+// Micrometer imports
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Spring framework imports
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+// Java utility imports
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate compression of the encoded cache values that are larger than a threshold
+ * ({@code app.cache.compression.threshold-bytes}), typically the cached lists.
+ * <p>
+ * A compressed value starts with the marker byte {@link #DEFLATE}, then the length of the
+ * uncompressed value (4 bytes), then the deflated bytes. Any other first byte means the value was
+ * stored as is ({@link CacheValueCodec} values start with their version byte, older JSON values with
+ * a printable character), so small values cost nothing and the reader needs no configuration.
+ * </p>
+ * <p>
+ * Metrics, tagged with the key prefix: {@code cache.value.size} (bytes before and after compression,
+ * tag {@code form=raw|stored}) gives the compression ratio, and {@code cache.value.compression}
+ * (tag {@code operation=compress|decompress}) the CPU time spent on it.
+ * </p>
+ */
+@Component
+public class CacheValueCompressor {
+
+    // Marker byte of a deflated value (not a CacheValueCodec version, not a printable JSON character)
+    static final byte DEFLATE = (byte) 0xD1;
+
+    private static final int HEADER_LENGTH = 1 + Integer.BYTES;
+
+    private final int thresholdBytes;
+    private final int level;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PrefixMeters> meters = new ConcurrentHashMap<>();
+
+    public CacheValueCompressor(@Value("${app.cache.compression.threshold-bytes:1024}") int thresholdBytes,
+                                @Value("${app.cache.compression.level:1}") int level,
+                                MeterRegistry meterRegistry) {
+        this.thresholdBytes = thresholdBytes;
+        this.level = level;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Compresses an encoded value if it is above the threshold and compression makes it smaller.
+     *
+     * @param keyPrefix the prefix of the key the value is stored under (metrics tag)
+     * @param raw       the encoded value
+     * @return the bytes to store
+     */
+    public byte[] compress(String keyPrefix, byte[] raw) {
+        PrefixMeters prefixMeters = meters(keyPrefix);
+        byte[] stored = raw;
+        if (thresholdBytes >= 0 && raw.length > thresholdBytes) {
+            long start = System.nanoTime();
+            byte[] deflated = deflate(raw);
+            prefixMeters.compress.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (deflated.length < raw.length) {
+                stored = deflated;
+            }
+        }
+        prefixMeters.rawSize.record(raw.length);
+        prefixMeters.storedSize.record(stored.length);
+        return stored;
+    }
+
+    /**
+     * Restores the encoded value from the stored bytes, compressed or not.
+     *
+     * @param keyPrefix the prefix of the key the value was read from (metrics tag)
+     * @param stored    the bytes read from Redis
+     * @return the encoded value
+     * @throws SerializationException if a compressed value is corrupt
+     */
+    public byte[] decompress(String keyPrefix, byte[] stored) {
+        if (stored == null || stored.length < HEADER_LENGTH || stored[0] != DEFLATE) {
+            return stored;
+        }
+        long start = System.nanoTime();
+        byte[] raw = inflate(stored);
+        meters(keyPrefix).decompress.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return raw;
+    }
+
+    private byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + HEADER_LENGTH);
+            out.write(DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(raw.length).array());
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) {
+        int length = ByteBuffer.wrap(stored, 1, Integer.BYTES).getInt();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+            byte[] raw = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new SerializationException("Truncated compressed cache value");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private PrefixMeters meters(String keyPrefix) {
+        return meters.computeIfAbsent(keyPrefix, prefix -> new PrefixMeters(
+                DistributionSummary.builder("cache.value.size").baseUnit("bytes")
+                        .tags("prefix", prefix, "form", "raw").register(meterRegistry),
+                DistributionSummary.builder("cache.value.size").baseUnit("bytes")
+                        .tags("prefix", prefix, "form", "stored").register(meterRegistry),
+                Timer.builder("cache.value.compression")
+                        .tags("prefix", prefix, "operation", "compress").register(meterRegistry),
+                Timer.builder("cache.value.compression")
+                        .tags("prefix", prefix, "operation", "decompress").register(meterRegistry)));
+    }
+
+    // Meters of one key prefix, registered on first use
+    private record PrefixMeters(DistributionSummary rawSize, DistributionSummary storedSize,
+                                Timer compress, Timer decompress) {}
+}
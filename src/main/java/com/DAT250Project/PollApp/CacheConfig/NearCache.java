@@ -0,0 +1,100 @@
+// Package declaration for the cache layer
+package com.DAT250Project.PollApp.CacheConfig;
+
+// Caffeine (in-process cache) imports
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Spring framework imports
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Java utility imports
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process L1 cache in front of Redis for hot single entities (polls, users, options).
+ * <p>
+ * Entries are bounded in number ({@code app.cache.l1.max-size}) and live at most
+ * {@code app.cache.l1.ttl-ms}, which also bounds staleness if an invalidation message is lost.
+ * Invalidations come from {@link RedisCacheService#invalidate} on this node and, through Redis
+ * pub/sub, from every other node.
+ * </p>
+ * <p>
+ * A value read from Redis is only stored if its key was not invalidated while it was being read,
+ * so a read that raced with an update cannot put the old value back.
+ * </p>
+ */
+@Component
+public class NearCache {
+
+    // Redis pub/sub channel carrying the keys to evict from every node's L1 cache
+    public static final String INVALIDATION_CHANNEL = "cache_invalidation";
+    // Separator of the keys in one invalidation message (keys never contain a newline)
+    public static final String KEY_SEPARATOR = "\n";
+
+    private final Cache<String, Object> values;
+    // key -> sequence number of its last invalidation (kept as long as a racing read can matter)
+    private final Cache<String, Long> invalidations;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<String> prefixes;
+
+    public NearCache(@Value("${app.cache.l1.max-size:10000}") long maxSize,
+                     @Value("${app.cache.l1.ttl-ms:5000}") long ttlMs,
+                     @Value("${app.cache.l1.prefixes:poll,user,option}") Set<String> prefixes) {
+        this.values = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        this.invalidations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        this.prefixes = prefixes;
+    }
+
+    // Whether keys with this prefix are kept in L1
+    public boolean handles(String keyPrefix) {
+        return prefixes.contains(keyPrefix);
+    }
+
+    // Returns the cached value, or null on a miss
+    public Object get(String key) {
+        return values.getIfPresent(key);
+    }
+
+    // Marks the start of a read from Redis; pass the result to putIfValid
+    public long readStamp() {
+        return sequence.get();
+    }
+
+    // Stores a value read from Redis unless the key was invalidated since readStamp() was taken
+    public void putIfValid(String key, Object value, long readStamp) {
+        if (invalidatedSince(key, readStamp)) {
+            return;
+        }
+        values.put(key, value);
+        // An invalidation may have landed between the check and the put
+        if (invalidatedSince(key, readStamp)) {
+            values.invalidate(key);
+        }
+    }
+
+    // Evicts a key from this node's L1 cache
+    public void invalidate(String key) {
+        invalidations.put(key, sequence.incrementAndGet());
+        values.invalidate(key);
+    }
+
+    // Whether the key was invalidated on this node (or by a message from another node) since readStamp() was taken
+    public boolean invalidatedSince(String key, long readStamp) {
+        Long invalidatedAt = invalidations.getIfPresent(key);
+        return invalidatedAt != null && invalidatedAt > readStamp;
+    }
+
+    // Number of entries currently cached (approximate)
+    public long size() {
+        return values.estimatedSize();
+    }
+}
@@ -0,0 +1,208 @@
+// Package declaration for the cache layer
+package com.DAT250Project.PollApp.CacheConfig;
+
+// Spring framework imports
+import com.DAT250Project.PollApp.dto.PollIndexEntry;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Component;
+
+// Java utility imports
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis sorted-set indexes of the poll ids, used to page through polls without loading them all.
+ * <p>
+ * Each {@link Order} is one sorted set whose score is a timestamp in epoch milliseconds:
+ * all polls by {@code publishedAt} (newest first), all polls by {@code validUntil} (closing soonest first),
+ * and public polls by {@code publishedAt}. The polls themselves stay in their own {@code poll:{id}} entries.
+ * </p>
+ * <p>
+ * The indexes are kept up to date by {@link PollIndexListener} after every committed insert, update or
+ * delete of a poll, and rebuilt from the database when the {@code poll_index:ready} marker is missing.
+ * An id whose poll no longer exists is removed when a page finds it (see {@link #remove}).
+ * </p>
+ */
+@Component
+public class PollIndex {
+
+    /** The orders polls can be paged in. */
+    public enum Order {
+        PUBLISHED("poll_index:published", true),
+        VALID_UNTIL("poll_index:valid_until", false),
+        PUBLIC("poll_index:public", true);
+
+        private final String key;
+        private final boolean newestFirst;
+
+        Order(String key, boolean newestFirst) {
+            this.key = key;
+            this.newestFirst = newestFirst;
+        }
+    }
+
+    // Set once the indexes were built from the database
+    private static final String READY_KEY = "poll_index:ready";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public PollIndex(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    // Whether the indexes were built (otherwise call rebuild before paging)
+    public boolean isReady() {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(READY_KEY));
+    }
+
+    // Adds every poll to the indexes (existing members are only re-scored) and marks them ready
+    public void rebuild(Collection<PollIndexEntry> entries) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (PollIndexEntry entry : entries) {
+                add(redis, entry);
+            }
+            redis.set(READY_KEY, Instant.now().toString());
+            return null;
+        });
+    }
+
+    // Indexes a saved poll, or moves it in or out of the public index when its privacy changed
+    public void add(PollIndexEntry entry) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            add((StringRedisConnection) connection, entry);
+            return null;
+        });
+    }
+
+    // Removes deleted polls from every index
+    public void remove(Collection<UUID> pollIds) {
+        if (pollIds.isEmpty()) {
+            return;
+        }
+        String[] members = pollIds.stream().map(UUID::toString).toArray(String[]::new);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (Order order : Order.values()) {
+                redis.zRem(order.key, members);
+            }
+            return null;
+        });
+    }
+
+    // Drops the indexes; the next listing rebuilds them from the database
+    public void clear() {
+        List<String> keys = new ArrayList<>();
+        keys.add(READY_KEY);
+        for (Order order : Order.values()) {
+            keys.add(order.key);
+        }
+        stringRedisTemplate.unlink(keys);
+    }
+
+    private static void add(StringRedisConnection redis, PollIndexEntry entry) {
+        String member = entry.pollId().toString();
+        double published = score(entry.publishedAt());
+        redis.zAdd(Order.PUBLISHED.key, published, member);
+        redis.zAdd(Order.VALID_UNTIL.key, score(entry.validUntil()), member);
+        if (entry.publicPoll()) {
+            redis.zAdd(Order.PUBLIC.key, published, member);
+        } else {
+            redis.zRem(Order.PUBLIC.key, member);
+        }
+    }
+
+    private static double score(Instant instant) {
+        return instant == null ? 0 : instant.toEpochMilli();
+    }
+
+    /**
+     * Returns up to {@code limit} poll ids in the given order, starting after the cursor.
+     * One ZRANGEBYSCORE usually suffices; polls sharing the cursor's timestamp are skipped by id.
+     *
+     * @param order  the index to read
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the maximum number of ids
+     * @return the ids, plus the cursor of the next page if there may be more
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page page(Order order, String cursor, int limit) {
+        Position after = cursor == null || cursor.isBlank() ? null : Position.decode(cursor);
+        double bound = after == null
+                ? (order.newestFirst ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY)
+                : after.score();
+
+        List<Position> positions = new ArrayList<>(limit + 1);
+        long offset = 0;
+        int batchSize = limit + 1;
+        while (positions.size() <= limit) {
+            Set<TypedTuple<String>> batch = order.newestFirst
+                    ? stringRedisTemplate.opsForZSet().reverseRangeByScoreWithScores(order.key,
+                            Double.NEGATIVE_INFINITY, bound, offset, batchSize)
+                    : stringRedisTemplate.opsForZSet().rangeByScoreWithScores(order.key,
+                            bound, Double.POSITIVE_INFINITY, offset, batchSize);
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            for (TypedTuple<String> tuple : batch) {
+                Position position = new Position(tuple.getScore(), tuple.getValue());
+                if ((after == null || position.isAfter(after, order.newestFirst)) && positions.size() <= limit) {
+                    positions.add(position);
+                }
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            offset += batch.size();
+        }
+
+        boolean more = positions.size() > limit;
+        List<Position> current = more ? positions.subList(0, limit) : positions;
+        List<UUID> ids = current.stream().map(position -> UUID.fromString(position.member())).toList();
+        return new Page(ids, more ? current.get(limit - 1).encode() : null);
+    }
+
+    /**
+     * One page of poll ids.
+     *
+     * @param pollIds    the ids in index order
+     * @param nextCursor the cursor of the next page, or null on the last page
+     */
+    public record Page(List<UUID> pollIds, String nextCursor) {}
+
+    // Place of a poll in an index; sorted sets order equal scores by member, so (score, member) is unique
+    private record Position(double score, String member) {
+
+        boolean isAfter(Position cursor, boolean newestFirst) {
+            int byScore = Double.compare(score, cursor.score);
+            int comparison = byScore != 0 ? byScore : member.compareTo(cursor.member);
+            return newestFirst ? comparison < 0 : comparison > 0;
+        }
+
+        // Opaque cursor: base64url of "score:member"
+        String encode() {
+            String raw = (long) score + ":" + member;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Position decode(String cursor) {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            long score = Long.parseLong(raw.substring(0, separator));
+            String member = UUID.fromString(raw.substring(separator + 1)).toString();
+            return new Position(score, member);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+// Package declaration for the cache layer
+package com.DAT250Project.PollApp.CacheConfig;
+
+// Persistence and Spring framework imports
+import com.DAT250Project.PollApp.dto.PollIndexEntry;
+import com.DAT250Project.PollApp.model.Poll;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Java utility imports
+import java.util.List;
+
+/**
+ * JPA entity listener keeping the Redis {@link PollIndex} in step with the polls table,
+ * whichever code path saved or deleted the poll.
+ * <p>
+ * Changes are applied after the transaction commits, so a poll is never listed before it can be
+ * loaded, and nothing is indexed for a rolled-back transaction.
+ * </p>
+ */
+@Component
+public class PollIndexListener {
+
+    private final PollIndex pollIndex;
+
+    public PollIndexListener(PollIndex pollIndex) {
+        this.pollIndex = pollIndex;
+    }
+
+    // Indexes a new poll, or re-scores it when its dates or privacy changed
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Poll poll) {
+        PollIndexEntry entry = PollIndexEntry.of(poll);
+        afterCommit(() -> pollIndex.add(entry));
+    }
+
+    // Removes a deleted poll from the indexes
+    @PostRemove
+    public void onRemoved(Poll poll) {
+        afterCommit(() -> pollIndex.remove(List.of(poll.getId())));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
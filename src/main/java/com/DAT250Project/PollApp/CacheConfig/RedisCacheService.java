@@ -6,23 +6,65 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 // Java utility imports
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 // Marks this class as a Spring service (business logic component)
 @Service
 public class RedisCacheService {
 
-    // Automatically injects the RedisTemplate configured in RedisConfig
+    // Encodes the cached values (see RedisConfig.cacheValueSerializer)
     @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    @Qualifier("cacheValueSerializer")
+    private RedisSerializer<Object> valueSerializer;
+
+    // Compresses the large encoded values before they are stored
+    @Autowired
+    private CacheValueCompressor compressor;
+
+    // Reloads hot entries in the background before they expire
+    @Autowired
+    private RefreshAhead refreshAhead;
+
+    // String template for hashes of counters (values must be plain numbers for HINCRBY)
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    // In-process L1 cache for hot single entities
+    @Autowired
+    private NearCache nearCache;
+
+    // How long an id looked up and not found is remembered (see putMissing)
+    @Value("${app.cache.tombstone-ttl-ms:30000}")
+    private long tombstoneTtlMillis;
+
+    private static final byte[] CHANNEL_BYTES = NearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
 
 
     // === MÉTODOS GENÉRICOS CON UUID ===
@@ -32,21 +74,110 @@ public class RedisCacheService {
         // Builds the complete key using prefix and UUID
         String key = buildKey(keyPrefix, id);
         // Stores the value in Redis with expiration time
-        redisTemplate.opsForValue().set(key, value, timeout, unit);
+        setValue(keyPrefix, key, value, Expiration.from(timeout, unit));
     }
 
     // Stores a value in Redis without expiration (persists until manually deleted)
     public void put(String keyPrefix, UUID id, Object value) {
         String key = buildKey(keyPrefix, id);
         // Stores value without expiration
-        redisTemplate.opsForValue().set(key, value);
+        setValue(keyPrefix, key, value, Expiration.persistent());
     }
 
-    // Retrieves a value from Redis without type safety
+    // Retrieves a value without type safety: from the in-process L1 cache for hot entities, otherwise from Redis
+    // (MISSING if the id is known not to exist, see putMissing)
     public Object get(String keyPrefix, UUID id) {
         String key = buildKey(keyPrefix, id);
-        // Gets the value from Redis (returns Object type)
-        return redisTemplate.opsForValue().get(key);
+        if (!nearCache.handles(keyPrefix)) {
+            // Gets the value from Redis (returns Object type)
+            return getValue(keyPrefix, key);
+        }
+
+        Object value = nearCache.get(key);
+        if (value != null) {
+            return value; // L1 hit: no network round trip, no deserialization
+        }
+        long readStamp = nearCache.readStamp();
+        value = getValue(keyPrefix, key);
+        if (value != null) {
+            nearCache.putIfValid(key, value, readStamp);
+        }
+        return value;
+    }
+
+    // Like get, but a value close to its expiry is reloaded in the background by the reloader
+    // (which loads it and caches it again) while the current value is returned, see RefreshAhead
+    public Object get(String keyPrefix, UUID id, Supplier<?> reloader) {
+        String key = buildKey(keyPrefix, id);
+        Object value = nearCache.handles(keyPrefix) ? nearCache.get(key) : null;
+        if (value == null) {
+            long readStamp = nearCache.readStamp();
+            // GET and PTTL in one round trip
+            byte[] rawKey = rawKey(key);
+            List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().get(rawKey);
+                connection.keyCommands().pTtl(rawKey);
+                return null;
+            }, RedisSerializer.byteArray());
+            value = decode(keyPrefix, (byte[]) replies.get(0));
+            if (value == null) {
+                return null;
+            }
+            refreshAhead.expiresIn(key, replies.get(1) instanceof Long ttl ? ttl : -1);
+            if (nearCache.handles(keyPrefix)) {
+                nearCache.putIfValid(key, value, readStamp);
+            }
+        }
+        if (value != MISSING) {
+            refreshAhead.onRead(keyPrefix, key, () -> reloadUnlessInvalidated(key, reloader));
+        }
+        return value;
+    }
+
+    // Runs a background reload. If the key was invalidated meanwhile, the reload may have read the data
+    // before the change committed and cached it afterwards, so the key is deleted again
+    // (invalidations are tracked for the prefixes kept in L1, which are the ones refreshed ahead)
+    private Object reloadUnlessInvalidated(String key, Supplier<?> reloader) {
+        long readStamp = nearCache.readStamp();
+        Object value = reloader.get();
+        if (nearCache.invalidatedSince(key, readStamp)) {
+            stringRedisTemplate.unlink(key);
+        }
+        return value;
+    }
+
+    // Retrieves several values with a single MGET; the result has one element (or null) per id
+    public List<Object> multiGet(String keyPrefix, List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        byte[][] keys = ids.stream().map(id -> rawKey(buildKey(keyPrefix, id))).toArray(byte[][]::new);
+        List<byte[]> stored = stringRedisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(keys));
+        if (stored == null) {
+            return new ArrayList<>(Collections.nCopies(ids.size(), null));
+        }
+        List<Object> values = new ArrayList<>(stored.size());
+        for (byte[] bytes : stored) {
+            values.add(decode(keyPrefix, bytes));
+        }
+        return values;
+    }
+
+    // Stores several values with the same timeout in a single pipeline
+    public void putAll(String keyPrefix, Map<UUID, ?> values, long timeout, TimeUnit unit) {
+        if (values.isEmpty()) {
+            return;
+        }
+        // Encoded before the pipeline, so it only carries the SET commands
+        Map<UUID, byte[]> encoded = new HashMap<>(values.size() * 2);
+        values.forEach((id, value) -> encoded.put(id, encode(keyPrefix, value)));
+        Expiration expiration = Expiration.from(timeout, unit);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            encoded.forEach((id, value) ->
+                    connection.stringCommands().set(rawKey(buildKey(keyPrefix, id)), value, expiration, SetOption.upsert()));
+            return null;
+        });
     }
 
     // Retrieves a value from Redis with type safety and casting
@@ -57,27 +188,266 @@ public class RedisCacheService {
         return type.isInstance(value) ? type.cast(value) : null;
     }
 
-    // Deletes a key-value pair from Redis
+    // Returns a cached value as a list of the given element type, or null (a miss) if it is not one,
+    // e.g. untyped JSON written by an older node, whose elements are maps
+    public static <T> List<T> listOf(Object value, Class<T> elementType) {
+        if (!(value instanceof List<?> list)) {
+            return null;
+        }
+        for (Object element : list) {
+            if (!elementType.isInstance(element)) {
+                return null;
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<T> typed = (List<T>) list;
+        return typed;
+    }
+
+    // Deletes a key-value pair from Redis and evicts it from the L1 cache of every node
     public void delete(String keyPrefix, UUID id) {
-        String key = buildKey(keyPrefix, id);
-        // Removes the key from Redis
-        redisTemplate.delete(key);
+        invalidate(List.of(CacheKey.of(keyPrefix, id)));
+    }
+
+    // Deletes several keys in a single round trip: one UNLINK (memory is freed in the background)
+    // pipelined with one pub/sub message listing the keys other nodes must evict from their L1 cache.
+    // Collection keys are not deleted but moved to a new generation (see currentGeneration).
+    public void invalidate(Collection<CacheKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<byte[]> rawKeys = new ArrayList<>(keys.size());
+        List<byte[]> generationKeys = new ArrayList<>();
+        StringJoiner nearCacheKeys = new StringJoiner(NearCache.KEY_SEPARATOR);
+        for (CacheKey cacheKey : keys) {
+            String key = cacheKey.key();
+            if (isGenerational(cacheKey.prefix())) {
+                generationKeys.add(generationKey(cacheKey).getBytes(StandardCharsets.UTF_8));
+                continue;
+            }
+            rawKeys.add(key.getBytes(StandardCharsets.UTF_8));
+            if (nearCache.handles(cacheKey.prefix())) {
+                nearCache.invalidate(key);
+                nearCacheKeys.add(key);
+            }
+        }
+        byte[] message = nearCacheKeys.length() == 0 ? null : nearCacheKeys.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] initialGeneration = initialVersion().getBytes(StandardCharsets.UTF_8);
+        byte[] generationTtl = Long.toString(GENERATION_TTL_MILLIS).getBytes(StandardCharsets.UTF_8);
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            if (!rawKeys.isEmpty()) {
+                connection.keyCommands().unlink(rawKeys.toArray(new byte[0][]));
+            }
+            for (byte[] generationKey : generationKeys) {
+                connection.scriptingCommands().eval(BUMP_VERSION_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8),
+                        ReturnType.INTEGER, 1, generationKey, initialGeneration, generationTtl);
+            }
+            if (message != null) {
+                // Other nodes evict their copy when they receive the keys (see RedisConfig)
+                connection.publish(CHANNEL_BYTES, message);
+            }
+            return null;
+        });
+    }
+
+    // === NEGATIVE CACHING ===
+    // An id that was looked up and does not exist is cached as a tombstone (one zero byte, which no
+    // encoded value is) for app.cache.tombstone-ttl-ms, so repeated lookups of unknown ids (bots, stale
+    // links) are answered without a query. Creating an entity deletes the tombstone of its id like any
+    // other invalidation; a lookup racing with the creation can only hide it for the short TTL.
+
+    // Returned by get for a key holding a tombstone: the id is known not to exist
+    public static final Object MISSING = new Object() {
+        @Override
+        public String toString() {
+            return "MISSING";
+        }
+    };
+
+    private static final byte[] TOMBSTONE = {0};
+
+    // Remembers that no entity has this id
+    public void putMissing(String keyPrefix, UUID id) {
+        byte[] key = rawKey(buildKey(keyPrefix, id));
+        Expiration expiration = Expiration.milliseconds(tombstoneTtlMillis);
+        stringRedisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.stringCommands().set(key, TOMBSTONE, expiration, SetOption.upsert()));
     }
 
     // Checks if a key exists in Redis
     public boolean hasKey(String keyPrefix, UUID id) {
         String key = buildKey(keyPrefix, id);
         // Returns true if key exists, false otherwise
-        return redisTemplate.hasKey(key);
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(key));
     }
 
-    // Helper method to build consistent Redis keys
-    private String buildKey(String keyPrefix, UUID id) {
-        if (id == null) {
-            return keyPrefix; // Return just prefix for null IDs (like "all_polls")
+    // === GENERATION COUNTERS FOR COLLECTIONS ===
+    // Collections ("all_users", "user_polls:{userId}") are cached under "{key}@{generation}".
+    // Invalidating one is a single INCR of its counter "gen:{key}": a reader that loaded the old data
+    // before the write committed stores it under the old generation, which nobody reads any more and
+    // which expires with its TTL. Counters start at the current time in microseconds, like poll versions,
+    // so a counter that expired never reuses a generation whose data may still be cached.
+
+    private static final Set<String> GENERATIONAL_PREFIXES = Set.of("all_users", "user_polls");
+
+    // Counters of collections nobody reads or changes expire after a day
+    private static final long GENERATION_TTL_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    // Whether keys with this prefix are collections invalidated by generation
+    public boolean isGenerational(String keyPrefix) {
+        return GENERATIONAL_PREFIXES.contains(keyPrefix);
+    }
+
+    // Returns the current generation of a collection; read it BEFORE loading the data to cache
+    public long currentGeneration(CacheKey collection) {
+        return stringRedisTemplate.execute(READ_VERSION_SCRIPT, List.of(generationKey(collection)),
+                initialVersion(), Long.toString(GENERATION_TTL_MILLIS));
+    }
+
+    // Stores a collection under the given generation
+    public void put(CacheKey collection, long generation, Object value, long timeout, TimeUnit unit) {
+        setValue(collection.prefix(), generationalKey(collection, generation), value, Expiration.from(timeout, unit));
+    }
+
+    // Retrieves a collection cached under the given generation
+    public Object get(CacheKey collection, long generation) {
+        return getValue(collection.prefix(), generationalKey(collection, generation));
+    }
+
+    private static String generationKey(CacheKey collection) {
+        return "gen:" + collection.key();
+    }
+
+    private static String generationalKey(CacheKey collection, long generation) {
+        return collection.key() + "@" + generation;
+    }
+
+    // === TAGGED ENTRIES ===
+    // Entries built from many entities (poll listings) are tagged with the keys of what they show
+    // ("poll:{pollId}", "user:{userId}") and of the set they list ("public_polls"). Invalidating a tag
+    // deletes every entry tagged with it: the set "tag:{tag}" holds the keys of its entries, and
+    // "tag_at:{tag}" when the tag was last invalidated (Redis server time in microseconds). An entry loaded
+    // before that time is not stored, so a reader that loaded the data before a write committed cannot
+    // cache it after the write invalidated its tags.
+
+    // KEYS: the entry, then "tag:{tag}" and "tag_at:{tag}" of each tag; ARGV: load time, TTL in ms, value
+    private static final DefaultRedisScript<Long> PUT_TAGGED_SCRIPT = new DefaultRedisScript<>(
+            "for i = 2, #KEYS, 2 do " +
+            "  local at = redis.call('GET', KEYS[i + 1]) " +
+            "  if at and tonumber(at) >= tonumber(ARGV[1]) then return 0 end " +
+            "end " +
+            "redis.call('SET', KEYS[1], ARGV[3], 'PX', ARGV[2]) " +
+            "for i = 2, #KEYS, 2 do " +
+            "  redis.call('SADD', KEYS[i], KEYS[1]) " +
+            "  if redis.call('PTTL', KEYS[i]) < tonumber(ARGV[2]) then redis.call('PEXPIRE', KEYS[i], ARGV[2]) end " +
+            "end " +
+            "return 1", Long.class);
+
+    // KEYS: "tag:{tag}" and "tag_at:{tag}" of each tag; ARGV: TTL of the invalidation times in ms
+    private static final DefaultRedisScript<Long> INVALIDATE_TAGS_SCRIPT = new DefaultRedisScript<>(
+            "local time = redis.call('TIME') " +
+            "local now = time[1] .. string.format('%06d', tonumber(time[2])) " +
+            "for i = 1, #KEYS, 2 do " +
+            "  redis.call('SET', KEYS[i + 1], now, 'PX', ARGV[1]) " +
+            "  local entries = redis.call('SMEMBERS', KEYS[i]) " +
+            "  for j = 1, #entries, 1000 do " +
+            "    redis.call('UNLINK', unpack(entries, j, math.min(j + 999, #entries))) " +
+            "  end " +
+            "  redis.call('UNLINK', KEYS[i]) " +
+            "end " +
+            "return 1", Long.class);
+
+    // Invalidation times only matter while a load started before them may still be running
+    private static final long TAG_INVALIDATION_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    // Returns the current time of the Redis server in microseconds; read it BEFORE loading the data to cache
+    public long tagClock() {
+        return stringRedisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.serverCommands().time(TimeUnit.MICROSECONDS));
+    }
+
+    // Stores an entry with its tags, unless one of them was invalidated since loadedAt (see tagClock)
+    public void putTagged(String keyPrefix, String key, Object value, Collection<CacheKey> tags,
+                          long loadedAt, long timeout, TimeUnit unit) {
+        byte[] stored = encode(keyPrefix, value);
+        byte[][] keysAndArgs = new byte[1 + tags.size() * 2 + 3][];
+        int i = 0;
+        keysAndArgs[i++] = rawKey(key);
+        for (CacheKey tag : tags) {
+            keysAndArgs[i++] = rawKey(tagKey(tag));
+            keysAndArgs[i++] = rawKey(tagInvalidatedAtKey(tag));
         }
-        // Creates key in format: "prefix:uuid"
-        return keyPrefix + ":" + id.toString();
+        keysAndArgs[i++] = rawKey(Long.toString(loadedAt));
+        keysAndArgs[i++] = rawKey(Long.toString(unit.toMillis(timeout)));
+        keysAndArgs[i] = stored;
+        stringRedisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.scriptingCommands().eval(rawKey(PUT_TAGGED_SCRIPT.getScriptAsString()),
+                        ReturnType.INTEGER, 1 + tags.size() * 2, keysAndArgs));
+    }
+
+    // Retrieves an entry stored with putTagged
+    public Object getTagged(String keyPrefix, String key) {
+        return getValue(keyPrefix, key);
+    }
+
+    // Deletes every entry tagged with one of the tags, in one round trip
+    public void invalidateTags(Collection<CacheKey> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(tags.size() * 2);
+        for (CacheKey tag : tags) {
+            keys.add(tagKey(tag));
+            keys.add(tagInvalidatedAtKey(tag));
+        }
+        stringRedisTemplate.execute(INVALIDATE_TAGS_SCRIPT, keys, Long.toString(TAG_INVALIDATION_TTL_MILLIS));
+    }
+
+    private static String tagKey(CacheKey tag) {
+        return "tag:" + tag.key();
+    }
+
+    private static String tagInvalidatedAtKey(CacheKey tag) {
+        return "tag_at:" + tag.key();
+    }
+
+    // Stores one value, encoded and compressed if large (see CacheValueCompressor)
+    private void setValue(String keyPrefix, String key, Object value, Expiration expiration) {
+        byte[] stored = encode(keyPrefix, value);
+        stringRedisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.stringCommands().set(rawKey(key), stored, expiration, SetOption.upsert()));
+        refreshAhead.expiresIn(key, expiration.isPersistent() ? -1 : expiration.getExpirationTimeInMilliseconds());
+    }
+
+    // Reads one value, or null if the key does not exist
+    private Object getValue(String keyPrefix, String key) {
+        byte[] stored = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(rawKey(key)));
+        return decode(keyPrefix, stored);
+    }
+
+    private byte[] encode(String keyPrefix, Object value) {
+        return compressor.compress(keyPrefix, valueSerializer.serialize(value));
+    }
+
+    private Object decode(String keyPrefix, byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (Arrays.equals(stored, TOMBSTONE)) {
+            return MISSING;
+        }
+        return valueSerializer.deserialize(compressor.decompress(keyPrefix, stored));
+    }
+
+    private static byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Helper method to build consistent Redis keys ("prefix:uuid", or just the prefix for null IDs like "all_polls")
+    private String buildKey(String keyPrefix, UUID id) {
+        return CacheKey.of(keyPrefix, id).key();
     }
 
     // === MÉTODOS ESPECÍFICOS PARA TU DOMINIO ===
@@ -95,13 +465,170 @@ public class RedisCacheService {
         delete("poll", pollId);
     }
 
-    // Poll Results (estadísticas) - Cache for 5 minutes (shorter TTL as results change frequently)
-    public void cachePollResults(UUID pollId, Object results) {
-        put("poll_results", pollId, results, 5, TimeUnit.MINUTES);
+    // Poll Results (estadísticas) - Redis hash "poll_results:{pollId}" with one field per option id.
+    // Votes increment it in place (HINCRBY) instead of invalidating it, so every node reads the
+    // same live counts with a single HGETALL. It is only deleted when the poll's options change.
+    //
+    // Seeding never overwrites an increment: the hash is first created with only the "seeding" field,
+    // votes increment it from then on, and the database counters read after that are added to those
+    // deltas. So a vote committed while the counters are read is counted once, in one or the other.
+
+    // Field marking a hash that is being seeded: it takes increments but is not read until seeded
+    private static final String SEEDING_FIELD = "seeding";
+
+    // HINCRBY only if the hash exists: a partial hash would hide the other options' counts
+    private static final DefaultRedisScript<Long> INCREMENT_RESULT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "  return redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "end " +
+            "return nil", Long.class);
+
+    // Creates the hash in the seeding state, unless it exists (seeded, or being seeded by another node)
+    private static final DefaultRedisScript<Long> BEGIN_SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], 1) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1", Long.class);
+
+    // Adds the counts to the increments made while seeding, then opens the hash with its TTL;
+    // does nothing if the hash is no longer being seeded (deleted or expired meanwhile)
+    private static final DefaultRedisScript<Long> FINISH_SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 0 then return 0 end " +
+            "for i = 3, #ARGV, 2 do redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "redis.call('HDEL', KEYS[1], ARGV[1]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1", Long.class);
+
+    // Adds the options missing from a seeded hash (HSETNX), leaving the counted ones as they are
+    private static final DefaultRedisScript<Long> FILL_RESULTS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 or redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then return 0 end " +
+            "for i = 2, #ARGV, 2 do redis.call('HSETNX', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "return 1", Long.class);
+
+    // Seeded hashes expire after 1 hour, which bounds the drift of a vote counted twice
+    // (committed before the counters were read, but incremented only once the hash was open)
+    private static final long POLL_RESULTS_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    // A hash left in the seeding state (by a node that stopped half-way) expires quickly
+    private static final long POLL_RESULTS_SEEDING_TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    // Adds delta to the count of one option, if the poll's results hash exists
+    public void incrementPollResult(UUID pollId, UUID optionId, long delta) {
+        if (pollId == null || optionId == null) {
+            return;
+        }
+        stringRedisTemplate.execute(INCREMENT_RESULT_SCRIPT,
+                List.of(buildKey("poll_results", pollId)), optionId.toString(), Long.toString(delta));
+    }
+
+    // Starts seeding the results hash of a poll: true if this caller created it and must finish it
+    public boolean beginPollResultsSeed(UUID pollId) {
+        Long created = stringRedisTemplate.execute(BEGIN_SEED_SCRIPT,
+                List.of(buildKey("poll_results", pollId)), SEEDING_FIELD, Long.toString(POLL_RESULTS_SEEDING_TTL_MILLIS));
+        return created != null && created == 1L;
+    }
+
+    // Finishes seeding the results hash of a poll with counts (optionId -> voteCount) read after it was begun;
+    // false if the hash was deleted meanwhile. A poll without options leaves no hash.
+    public boolean finishPollResultsSeed(UUID pollId, Map<UUID, Long> counts) {
+        Long finished = stringRedisTemplate.execute(FINISH_SEED_SCRIPT,
+                List.of(buildKey("poll_results", pollId)), countArgs(Long.toString(POLL_RESULTS_TTL_MILLIS), counts));
+        return finished != null && finished == 1L;
+    }
+
+    // Adds the given counts (optionId -> voteCount) for the options missing from a seeded results hash
+    public void fillPollResults(UUID pollId, Map<UUID, Long> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.execute(FILL_RESULTS_SCRIPT,
+                List.of(buildKey("poll_results", pollId)), countArgs(null, counts));
+    }
+
+    // SEEDING_FIELD, then the optional first argument, then the optionId and count pairs
+    private static Object[] countArgs(String first, Map<UUID, Long> counts) {
+        List<String> args = new ArrayList<>(counts.size() * 2 + 2);
+        args.add(SEEDING_FIELD);
+        if (first != null) {
+            args.add(first);
+        }
+        counts.forEach((optionId, count) -> {
+            args.add(optionId.toString());
+            args.add(Long.toString(count));
+        });
+        return args.toArray();
+    }
+
+    // Returns the counts of the results hash (optionId -> voteCount);
+    // empty if the hash does not exist or is still being seeded
+    public Map<UUID, Long> getPollResults(UUID pollId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(buildKey("poll_results", pollId));
+        if (entries.containsKey(SEEDING_FIELD)) {
+            return new HashMap<>();
+        }
+        Map<UUID, Long> counts = new HashMap<>(entries.size() * 2);
+        entries.forEach((optionId, count) ->
+                counts.put(UUID.fromString((String) optionId), Long.parseLong((String) count)));
+        return counts;
+    }
+
+    // Poll versions - "poll_version:{pollId}", bumped (INCR) by every change to a poll or its options
+    // (not by votes, which the poll body does not carry), and used as the ETag of the poll's GET responses.
+    // A missing key starts at the current time in microseconds, which is above any version issued before
+    // it expired, so versions never go backwards.
+    // Reads never create the key: only startPollVersion does, for a poll that was found, so requests for
+    // unknown ids write nothing. Deleting a poll deletes its version.
+
+    private static final DefaultRedisScript<Long> READ_VERSION_SCRIPT = new DefaultRedisScript<>(
+            "local version = redis.call('GET', KEYS[1]) " +
+            "if version then return tonumber(version) end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+            "return tonumber(ARGV[1])", Long.class);
+
+    private static final DefaultRedisScript<Long> BUMP_VERSION_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "  redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+            "end " +
+            "return redis.call('INCR', KEYS[1])", Long.class);
+
+    // Versions of polls nobody reads or changes expire after a day (also cleans up ids that never existed)
+    private static final long POLL_VERSION_TTL_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    // Returns the current version of a poll, or null if it has none (never versioned, expired or deleted)
+    public Long getPollVersion(UUID pollId) {
+        String version = stringRedisTemplate.opsForValue().get(buildKey("poll_version", pollId));
+        return version == null ? null : Long.valueOf(version);
+    }
+
+    // Returns the current versions of several polls with one MGET (null for a poll without one)
+    public List<Long> getPollVersions(List<UUID> pollIds) {
+        List<String> versions = stringRedisTemplate.opsForValue()
+                .multiGet(pollIds.stream().map(id -> buildKey("poll_version", id)).toList());
+        List<Long> result = new ArrayList<>(pollIds.size());
+        for (int i = 0; i < pollIds.size(); i++) {
+            String version = versions == null ? null : versions.get(i);
+            result.add(version == null ? null : Long.valueOf(version));
+        }
+        return result;
+    }
+
+    // Gives an existing poll without a version its first one; null if a change created it first
+    public Long startPollVersion(UUID pollId) {
+        String version = initialVersion();
+        Boolean created = stringRedisTemplate.opsForValue().setIfAbsent(buildKey("poll_version", pollId), version,
+                POLL_VERSION_TTL_MILLIS, TimeUnit.MILLISECONDS);
+        return Boolean.TRUE.equals(created) ? Long.valueOf(version) : null;
+    }
+
+    // Increments the version of a poll and returns the new value
+    public long bumpPollVersion(UUID pollId) {
+        return stringRedisTemplate.execute(BUMP_VERSION_SCRIPT, List.of(buildKey("poll_version", pollId)),
+                initialVersion(), Long.toString(POLL_VERSION_TTL_MILLIS));
     }
 
-    public Object getPollResults(UUID pollId) {
-        return get("poll_results", pollId);
+    private static String initialVersion() {
+        Instant now = Instant.now();
+        return Long.toString(now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000);
     }
 
     // Users - Cache for 30 minutes (longer TTL as user data changes infrequently)
@@ -126,12 +653,12 @@ public class RedisCacheService {
     // === MÉTODOS PARA COLECCIONES ===
 
     // Caches all polls belonging to a specific user
-    public void cacheUserPolls(UUID userId, Object polls) {
-        put("user_polls", userId, polls, 10, TimeUnit.MINUTES);
+    public void cacheUserPolls(UUID userId, long generation, Object polls) {
+        put(CacheKey.of("user_polls", userId), generation, polls, 10, TimeUnit.MINUTES);
     }
 
-    public Object getUserPolls(UUID userId) {
-        return get("user_polls", userId);
+    public Object getUserPolls(UUID userId, long generation) {
+        return get(CacheKey.of("user_polls", userId), generation);
     }
 
     // Caches all votes for a specific poll
@@ -141,22 +668,32 @@ public class RedisCacheService {
 
     // === MÉTODOS DE BÚSQUEDA MASIVA ===
 
-    // Caches the complete list of all polls (for listing pages)
-    public void cacheAllPolls(Object polls) {
-        // Uses a simple string key without UUID for global collections
-        redisTemplate.opsForValue().set("all_polls", polls, 5, TimeUnit.MINUTES);
+    // Reads the polls of a listing page with one MGET (null for polls that are not cached)
+    public List<Object> getPolls(List<UUID> pollIds) {
+        return multiGet("poll", pollIds);
+    }
+
+    // Caches the polls loaded for a listing page in one pipeline
+    public void cachePolls(Map<UUID, ?> polls) {
+        putAll("poll", polls, 10, TimeUnit.MINUTES);
+    }
+
+    // Poll listings - "poll_listing:{listing}" holds the rows read for one page of a public or private
+    // listing, tagged with its polls, their creators and the set it lists (see TAGGED ENTRIES)
+    public void cachePollListing(String listing, Object rows, Collection<CacheKey> tags, long loadedAt, long timeoutMillis) {
+        putTagged("poll_listing", "poll_listing:" + listing, rows, tags, loadedAt, timeoutMillis, TimeUnit.MILLISECONDS);
     }
 
-    public Object getAllPolls() {
-        return redisTemplate.opsForValue().get("all_polls");
+    public Object getPollListing(String listing) {
+        return getTagged("poll_listing", "poll_listing:" + listing);
     }
 
     // Caches the complete list of all users
-    public void cacheAllUsers(Object users) {
-        redisTemplate.opsForValue().set("all_users", users, 10, TimeUnit.MINUTES);
+    public void cacheAllUsers(long generation, Object users) {
+        put(CacheKey.of("all_users"), generation, users, 10, TimeUnit.MINUTES);
     }
 
-    public Object getAllUsers() {
-        return redisTemplate.opsForValue().get("all_users");
+    public Object getAllUsers(long generation) {
+        return get(CacheKey.of("all_users"), generation);
     }
 }
@@ -3,6 +3,7 @@ package com.DAT250Project.PollApp.CacheConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -14,10 +15,15 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
@@ -64,6 +70,16 @@ public class RedisConfig {
         return new GenericJackson2JsonRedisSerializer(objectMapper);
     }
 
+    // Serializer of the cached values: CacheValueCodec with a compact binary body, or a JSON body with
+    // app.cache.codec=json. Both are typed (values read back as the cached DTOs) and both read either
+    // body, so switching needs no flush
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer(
+            @Value("${app.cache.codec:binary}") String codec,
+            GenericJackson2JsonRedisSerializer jsonSerializer) {
+        return new CacheValueCodec(jsonSerializer, "json".equalsIgnoreCase(codec));
+    }
+
 
     // Creates a bean for Redis connection factory
     @Bean
@@ -120,7 +136,7 @@ public class RedisConfig {
     @Bean
     public RedisTemplate<String, Object> redisTemplate(
             RedisConnectionFactory connectionFactory,
-            GenericJackson2JsonRedisSerializer jsonSerializer) {
+            @Qualifier("cacheValueSerializer") RedisSerializer<Object> valueSerializer) {
 
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
@@ -129,14 +145,38 @@ public class RedisConfig {
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
 
-        // Use the custom serializer that handles Instant
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        // Use the configured value serializer (see cacheValueSerializer)
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
 
+    // Plain string template for Redis data structures holding numbers (e.g. the poll results hash),
+    // where HINCRBY needs the values stored as decimal strings rather than JSON
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+    // Listens to the invalidations published by RedisCacheService.delete on any node
+    // and evicts the keys from this node's L1 cache
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, NearCache nearCache) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> {
+                    for (String key : new String(message.getBody(), StandardCharsets.UTF_8).split(NearCache.KEY_SEPARATOR)) {
+                        nearCache.invalidate(key);
+                    }
+                },
+                new ChannelTopic(NearCache.INVALIDATION_CHANNEL));
+        return container;
+    }
 
     // Creates the CacheManager bean for Spring caching abstraction
 //    @Bean
@@ -178,16 +218,16 @@ public class RedisConfig {
     @Bean
     public CacheManager cacheManager(
             RedisConnectionFactory connectionFactory,
-            GenericJackson2JsonRedisSerializer jsonSerializer) {
+            @Qualifier("cacheValueSerializer") RedisSerializer<Object> valueSerializer) {
 
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
-                // Use the custom serializer that handles Instant
+                // Use the configured value serializer (see cacheValueSerializer)
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(jsonSerializer));
+                        .fromSerializer(valueSerializer));
 
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
 
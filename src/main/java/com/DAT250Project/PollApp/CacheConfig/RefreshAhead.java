@@ -0,0 +1,147 @@
+// Package declaration for the cache layer
+package com.DAT250Project.PollApp.CacheConfig;
+
+// Caffeine (in-process cache) imports
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Logging and Spring framework imports
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Java utility imports
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Refresh-ahead for cached entries, with probabilistic early expiration ("XFetch",
+ * Vattani et al., Optimal Probabilistic Cache Stampede Prevention, VLDB 2015).
+ * <p>
+ * Every read of an entry with a reloader draws whether to reload it now: the probability is
+ * {@code exp(-remainingTtl / (delta * beta))}, where {@code delta} is the time a reload of that
+ * key prefix takes (a moving average of the reloads done here) and {@code beta}
+ * ({@code app.cache.refresh-ahead.beta}) trades earlier reloads for fewer synchronous misses.
+ * The more often a key is read, the earlier one read triggers the reload, so hot keys are reloaded
+ * in the background before they expire while the current value is still served.
+ * </p>
+ * <p>
+ * The remaining TTL comes from the PTTL read with the value, and is remembered for the entries
+ * served from the L1 cache. Reloads run on a small pool, at most one per key; when the pool is
+ * saturated a reload is skipped and the key simply expires.
+ * </p>
+ */
+@Component
+public class RefreshAhead {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshAhead.class);
+
+    // Weight of the last reload in the moving average of the reload time
+    private static final double DELTA_WEIGHT = 0.2;
+
+    private final boolean enabled;
+    private final double beta;
+    private final double initialDeltaMillis;
+
+    // key -> expiry of its Redis entry (epoch ms), for values served from L1
+    private final Cache<String, Long> expiries;
+    // prefix -> moving average of the reload time in ms
+    private final Map<String, Double> deltas = new ConcurrentHashMap<>();
+    // keys being reloaded
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    public RefreshAhead(@Value("${app.cache.refresh-ahead.enabled:true}") boolean enabled,
+                        @Value("${app.cache.refresh-ahead.beta:1.0}") double beta,
+                        @Value("${app.cache.refresh-ahead.initial-delta-ms:50}") double initialDeltaMillis,
+                        @Value("${app.cache.refresh-ahead.threads:2}") int threads,
+                        @Value("${app.cache.l1.max-size:10000}") long maxKeys) {
+        this.enabled = enabled;
+        this.beta = beta;
+        this.initialDeltaMillis = initialDeltaMillis;
+        this.expiries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Remembers when the Redis entry of a key expires (ttlMillis as returned by PTTL, negative if none)
+    public void expiresIn(String key, long ttlMillis) {
+        if (ttlMillis > 0) {
+            expiries.put(key, System.currentTimeMillis() + ttlMillis);
+        } else {
+            expiries.invalidate(key);
+        }
+    }
+
+    /**
+     * Called on every read of a cached value: reloads it in the background if the draw says so.
+     *
+     * @param keyPrefix the key prefix (reload times are averaged per prefix)
+     * @param key       the Redis key
+     * @param reloader  loads the value from the database and caches it
+     */
+    public void onRead(String keyPrefix, String key, Supplier<?> reloader) {
+        if (!enabled) {
+            return;
+        }
+        Long expiresAt = expiries.getIfPresent(key);
+        if (expiresAt == null || !shouldRefresh(expiresAt - System.currentTimeMillis(), delta(keyPrefix))) {
+            return;
+        }
+        if (inFlight.add(key)) {
+            try {
+                executor.execute(() -> refresh(keyPrefix, key, reloader));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(key); // pool saturated or stopping: the key expires normally
+            }
+        }
+    }
+
+    // XFetch: reload now with probability exp(-remainingTtl / (delta * beta))
+    boolean shouldRefresh(long remainingTtlMillis, double deltaMillis) {
+        double random = ThreadLocalRandom.current().nextDouble();
+        return -deltaMillis * beta * Math.log(random) >= remainingTtlMillis;
+    }
+
+    private void refresh(String keyPrefix, String key, Supplier<?> reloader) {
+        try {
+            long start = System.nanoTime();
+            reloader.get();
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            deltas.merge(keyPrefix, millis, (average, last) -> average + DELTA_WEIGHT * (last - average));
+        } catch (RuntimeException e) {
+            logger.warn("Refresh-ahead of {} failed", key, e);
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    private double delta(String keyPrefix) {
+        return deltas.getOrDefault(keyPrefix, initialDeltaMillis);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,79 @@
+// Package declaration for the cache layer
+package com.DAT250Project.PollApp.CacheConfig;
+
+// Spring framework imports
+import org.springframework.stereotype.Component;
+
+// Java utility imports
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-key single-flight loader for cache-aside reads.
+ * <p>
+ * When a hot key is missing from the cache, only the first caller runs the loader
+ * (database query + cache write); concurrent callers for the same key wait for it and
+ * get the same result instead of all hitting the database. Keys are only held while a
+ * load is in flight, so nothing is cached here.
+ * </p>
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the loader for a key, or waits for the load already running for it.
+     * Exceptions thrown by the loader are rethrown to every waiting caller.
+     *
+     * @param key    the cache key being loaded
+     * @param loader loads (and caches) the value
+     * @param <T>    the value type
+     * @return the loaded value (may be null)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> loader) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            return (T) await(running);
+        }
+
+        try {
+            T value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            // The next miss after this point starts a new load (the value is in the cache by now)
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Returns the number of loads currently running.
+     *
+     * @return the number of keys in flight
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,20 +1,43 @@
 package com.DAT250Project.PollApp;
 
+import com.DAT250Project.PollApp.CacheConfig.CacheKey;
+import com.DAT250Project.PollApp.CacheConfig.PollIndex;
 import com.DAT250Project.PollApp.CacheConfig.RedisCacheService;
+import com.DAT250Project.PollApp.CacheConfig.SingleFlight;
+import com.DAT250Project.PollApp.dto.OptionResponse;
+import com.DAT250Project.PollApp.dto.OptionResult;
+import com.DAT250Project.PollApp.dto.CursorPage;
+import com.DAT250Project.PollApp.dto.PageCursor;
+import com.DAT250Project.PollApp.dto.PollStatus;
+import com.DAT250Project.PollApp.dto.PollSummary;
+import com.DAT250Project.PollApp.dto.PollResponse;
+import com.DAT250Project.PollApp.dto.PollResults;
+import com.DAT250Project.PollApp.dto.UserResponse;
+import com.DAT250Project.PollApp.dto.VoteResponse;
+import com.DAT250Project.PollApp.ingestion.PendingVote;
+import com.DAT250Project.PollApp.ingestion.VoteBatchFlushedEvent;
+import com.DAT250Project.PollApp.ingestion.VoteIngestionService;
 import com.DAT250Project.PollApp.messaging.PollPublisher;
 import com.DAT250Project.PollApp.messaging.UserPublisher;
 import com.DAT250Project.PollApp.messaging.VotePublisher;
+import com.DAT250Project.PollApp.tally.TallyEngine;
 import com.DAT250Project.PollApp.model.*;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 
 
 import com.DAT250Project.PollApp.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 
 /**
  * Service responsible for managing users, polls, options, and votes.
@@ -60,6 +83,38 @@ public class PollManager {
     @Autowired
     private RedisCacheService redisCacheService;
 
+    /** Runs the loads whose results are mapped to DTOs, so their lazy associations can still be read. */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /** Collapses concurrent cache misses of the same key into one database load. */
+    @Autowired
+    private SingleFlight singleFlight;
+
+    /** Redis sorted-set indexes used to page through polls. */
+    @Autowired
+    private PollIndex pollIndex;
+
+    /** Page size of listings requested without a limit. */
+    @Value("${app.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    /** Largest page size a client can request. */
+    @Value("${app.pagination.max-size:200}")
+    private int maxPageSize;
+
+    /** How long a page of a public or private poll listing is cached, unless it changes with time sooner. */
+    @Value("${app.cache.poll-listing-ttl-ms:600000}")
+    private long pollListingTtlMillis;
+
+    /** In-memory live tally of poll results. */
+    @Autowired
+    private TallyEngine tallyEngine;
+
+    /** Optional write-behind pipeline for votes. */
+    @Autowired
+    private VoteIngestionService voteIngestionService;
+
     /** Password encoder for hashing user passwords. */
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -82,31 +137,51 @@ public class PollManager {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
 
-        // Invalidate users cache after creation
-        redisCacheService.delete("all_users", null);
         User saved = userRepository.save(user);
+        // Invalidate users cache after creation (after the write, so a racing reload cannot cache the old list),
+        // and the tombstone of the new id if it was looked up before
+        redisCacheService.invalidate(List.of(
+                CacheKey.of("all_users"),
+                CacheKey.of("user", saved.getId())));
 
-        userPublisher.publishUserCreated(saved);
+        userPublisher.publishUserCreated(UserResponse.of(saved));
 
         return saved;
     }
 
     /**
-     * Returns all users using a cache-first strategy.
+     * Returns one page of users ordered by ID. The first page of the default size is cached.
      *
-     * @return List of all users.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, or null for the default (capped at the maximum).
+     * @return The page, or null if the cursor is malformed.
      */
-    public List<User> getAllUsers() {
-        // Try to get from cache first
-        Object cachedUsers = redisCacheService.getAllUsers();
-        if (cachedUsers instanceof List) {
-            return (List<User>) cachedUsers;
+    public CursorPage<UserResponse> getUsersPage(String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        if (cursor == null && pageSize == defaultPageSize) {
+            // Try to get from cache first (the generation is read before the database, see RedisCacheService)
+            long generation = redisCacheService.currentGeneration(CacheKey.of("all_users"));
+            List<UserResponse> cachedUsers = RedisCacheService.listOf(redisCacheService.getAllUsers(generation), UserResponse.class);
+            if (cachedUsers != null) {
+                return toPage(cachedUsers, pageSize, user -> PageCursor.of(user.id()));
+            }
+
+            // If not in cache, get from database and cache it (one loader per key, concurrent misses wait for it)
+            List<UserResponse> users = singleFlight.load("all_users@" + generation, () -> {
+                List<UserResponse> firstPage = userRepository.findPage(Limit.of(pageSize + 1)).stream()
+                        .map(UserResponse::of).toList();
+                redisCacheService.cacheAllUsers(generation, firstPage);
+                return firstPage;
+            });
+            return toPage(users, pageSize, user -> PageCursor.of(user.id()));
         }
 
-        // If not in cache, get from database and cache it
-        List<User> users = userRepository.findAll();
-        redisCacheService.cacheAllUsers(users);
-        return users;
+        PageCursor after = decodeCursor(cursor);
+        if (cursor != null && after == null) return null;
+        List<User> users = after == null
+                ? userRepository.findPage(Limit.of(pageSize + 1))
+                : userRepository.findPageAfter(after.id(), Limit.of(pageSize + 1));
+        return toPage(users.stream().map(UserResponse::of).toList(), pageSize, user -> PageCursor.of(user.id()));
     }
 
     /**
@@ -115,20 +190,31 @@ public class PollManager {
      * @param userId The ID of the user.
      * @return The user or null if not found.
      */
-    public User getUserById(UUID userId) {
-        // Try to get from cache first using type-safe method
-        User cachedUser = redisCacheService.get("user", userId, User.class);
-        // If found in cache, return immediately (cache hit)
-        if (cachedUser != null) {
-            return cachedUser;
+    public UserResponse getUserById(UUID userId) {
+        // Try to get from cache first (reloaded in the background when close to expiry)
+        Object cachedUser = redisCacheService.get("user", userId, () -> loadUser(userId));
+        // If found in cache, return immediately (cache hit), also when the id is known not to exist
+        if (cachedUser == RedisCacheService.MISSING) {
+            return null;
+        }
+        if (cachedUser instanceof UserResponse user) {
+            return user;
         }
 
-        // If not in cache, search in database (cache miss)
-        User user = userRepository.findById(userId).orElse(null);
+        // If not in cache, search in database (cache miss); concurrent misses share one query
+        return singleFlight.load("user:" + userId, () -> loadUser(userId));
+    }
+
+    /** Loads a user from the database and caches it, or a tombstone if there is none. */
+    private UserResponse loadUser(UUID userId) {
+        UserResponse user = userRepository.findById(userId).map(UserResponse::of).orElse(null);
         // If user found in database
         if (user != null) {
             // Save to cache for future queries (cache population)
             redisCacheService.cacheUser(userId, user);
+        } else {
+            // Remember the unknown id, so repeated lookups do not query again
+            redisCacheService.putMissing("user", userId);
         }
         return user;
     }
@@ -143,11 +229,49 @@ public class PollManager {
         // Find user first to return it, then delete from database
         User user = userRepository.findById(userId).orElse(null);
         if (user != null) {
-            userRepository.deleteById(userId);
-            // Invalidate all related caches
-            redisCacheService.delete("user", userId);
-            redisCacheService.delete("all_users", null);
-            redisCacheService.delete("user_polls", userId);
+            // The user's votes are removed by cascade, so take them out of the option counters
+            // in the same transaction as the delete: the counters never miss or double a vote
+            List<Vote> votes = new ArrayList<>();
+            List<UUID> ownPollIds = new ArrayList<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                votes.addAll(voteRepository.findByVoter_Id(userId));
+                for (Vote vote : votes) {
+                    voteOptionRepository.decrementVoteCount(vote.getOptionId());
+                }
+                // The user's polls are deleted by cascade too
+                ownPollIds.addAll(pollRepository.findIdsByCreatedById(userId));
+                userRepository.deleteById(userId);
+            });
+            // Live tallies only once committed
+            Set<UUID> votedPollIds = new LinkedHashSet<>();
+            for (Vote vote : votes) {
+                recordLiveResult(vote.getPollId(), vote.getOptionId(), -1);
+                if (vote.getPollId() != null) {
+                    votedPollIds.add(vote.getPollId());
+                }
+            }
+            votedPollIds.removeAll(ownPollIds);
+            // Invalidate all related caches in one round trip
+            List<CacheKey> staleKeys = new ArrayList<>(List.of(
+                    CacheKey.of("user", userId),
+                    CacheKey.of("all_users"),
+                    CacheKey.of("user_polls", userId)));
+            // The polls the user voted in only lose votes: the poll itself is unchanged
+            for (UUID pollId : votedPollIds) {
+                staleKeys.add(CacheKey.of("poll_votes", pollId));
+            }
+            for (UUID pollId : ownPollIds) {
+                staleKeys.add(CacheKey.of("poll", pollId));
+                staleKeys.add(CacheKey.of("poll_results", pollId));
+                staleKeys.add(CacheKey.of("poll_votes", pollId));
+                staleKeys.add(CacheKey.of("poll_version", pollId));
+            }
+            redisCacheService.invalidate(staleKeys);
+            // The listings showing the deleted polls
+            redisCacheService.invalidateTags(List.of(CacheKey.of("user", userId)));
+            for (UUID pollId : ownPollIds) {
+                tallyEngine.evict(pollId);
+            }
         }
         return user;
     }
@@ -158,34 +282,42 @@ public class PollManager {
      * @param userId The user ID.
      * @return List of polls or null if user does not exist.
      */
-    public List<Poll> getPollsByUser(UUID userId) {
+    public List<PollResponse> getPollsByUser(UUID userId) {
         // Try cache first
-        Object cachedPolls = redisCacheService.getUserPolls(userId);
-        if (cachedPolls instanceof List) {
-            return (List<Poll>) cachedPolls;
+        long generation = redisCacheService.currentGeneration(CacheKey.of("user_polls", userId));
+        List<PollResponse> cachedPolls = RedisCacheService.listOf(redisCacheService.getUserPolls(userId, generation), PollResponse.class);
+        if (cachedPolls != null) {
+            return cachedPolls;
         }
 
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) return null;
+        return singleFlight.load("user_polls:" + userId + "@" + generation, () -> {
+            if (!userRepository.existsById(userId)) return null;
 
-        List<Poll> polls = new ArrayList<>(user.getCreatedPolls());
-        // Cache the result
-        redisCacheService.cacheUserPolls(userId, polls);
-        // Convert the Set<Poll> to List<Poll> because controller methods return a List<>, not a Set<>
-        return new ArrayList<>(user.getCreatedPolls());
+            // One query for the polls with their options, instead of the user and then each poll's options
+            List<PollResponse> polls = transactionTemplate.execute(status ->
+                    pollRepository.findDetailByCreatedById(userId).stream().map(PollResponse::of).toList());
+            // Cache the result
+            redisCacheService.cacheUserPolls(userId, generation, polls);
+            return polls;
+        });
     }
 
     /**
-     * Retrieves all votes made by a specific user.
+     * Retrieves one page of the votes made by a specific user, newest first.
      *
      * @param userId The user's ID.
-     * @return List of votes or null if user not found.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, or null for the default.
+     * @return The page, or null if the cursor is malformed.
      */
-    public List<Vote> getVotesByUser(UUID userId) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) return null;
-        // Convert the Set<Poll> to List<Poll> because controller methods return a List<>, not a Set<>
-        return new ArrayList<>(user.getVotes());
+    public CursorPage<VoteResponse> getVotesByUser(UUID userId, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        PageCursor after = decodeCursor(cursor);
+        if (cursor != null && after == null) return null;
+        List<Vote> votes = after == null
+                ? voteRepository.findVoterPage(userId, Limit.of(pageSize + 1))
+                : voteRepository.findVoterPageAfter(userId, after.at(), after.id(), Limit.of(pageSize + 1));
+        return toPage(votes.stream().map(VoteResponse::of).toList(), pageSize, PollManager::cursorOf);
     }
 
     //------------------------------------------------- POLL -----------------------------------------------------------
@@ -239,53 +371,208 @@ public class PollManager {
         Poll savedPoll = pollRepository.save(poll);
         //debug check, and I think security blocks rabbit right now, probably this is why we do not see the messages in the console
         System.out.println("Creating poll...");
-        pollPublisher.publishPollCreated(savedPoll);
-
-        // Invalidate relevant cache
-        redisCacheService.delete("all_polls", null); // Clean complete list
-        redisCacheService.delete("user_polls", savedPoll.getCreatedBy().getId());
+        pollPublisher.publishPollCreated(PollResponse.of(savedPoll));
+
+        // Invalidate the creator's list and the tombstone of the new id, if any
+        // (the poll indexes are updated by PollIndexListener on commit)
+        redisCacheService.invalidate(List.of(
+                CacheKey.of("user_polls", savedPoll.getCreatedBy().getId()),
+                CacheKey.of("poll", savedPoll.getId())));
+        // and the listings the new poll joins
+        redisCacheService.invalidateTags(List.of(savedPoll.isPublicPoll()
+                ? CacheKey.of("public_polls")
+                : CacheKey.of("private_polls", savedPoll.getCreatedBy().getId())));
 
         // Return the new poll
         return savedPoll;
     }
 
     /**
-     * Retrieves all polls using a cache-first strategy.
+     * Returns one page of polls in the given order, using the Redis poll indexes.
+     * The ids come from one sorted-set range and the polls from one MGET; polls missing
+     * from the cache are loaded from the database in one query and cached.
      *
-     * @return List of polls.
+     * @param order  The order of the listing.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, or null for the default.
+     * @return The page, or null if the cursor is malformed.
      */
-    public List<Poll> getAllPolls() {
-        // Get all polls from cache (uses simple key "all_polls")
-        Object cached = redisCacheService.getAllPolls();
-        // Check if cached object is a List and return it
-        if (cached instanceof List) {
-            return (List<Poll>) cached;
+    public CursorPage<PollResponse> getPollPage(PollIndex.Order order, String cursor, Integer limit) {
+        ensurePollIndex();
+        PollIndex.Page page;
+        try {
+            page = pollIndex.page(order, cursor, pageSize(limit));
+        } catch (IllegalArgumentException e) {
+            return null;
         }
 
-        // If not in cache, get from database
-        List<Poll> polls = pollRepository.findAll();
-        // Cache the complete list
-        redisCacheService.cacheAllPolls(polls);
-        return polls;
+        // Get the polls of the page from cache
+        List<UUID> pollIds = page.pollIds();
+        List<Object> cached = redisCacheService.getPolls(pollIds);
+        Map<UUID, PollResponse> polls = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (int i = 0; i < pollIds.size(); i++) {
+            if (cached.get(i) instanceof PollResponse poll) {
+                polls.put(pollIds.get(i), poll);
+            } else {
+                missing.add(pollIds.get(i));
+            }
+        }
+
+        // Load the others from the database and cache them, stamped with the versions read before
+        if (!missing.isEmpty()) {
+            List<Long> versions = redisCacheService.getPollVersions(missing);
+            Map<UUID, Long> versionOf = new HashMap<>();
+            for (int i = 0; i < missing.size(); i++) {
+                versionOf.put(missing.get(i), versions.get(i));
+            }
+            Map<UUID, PollResponse> loaded = new HashMap<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Poll poll : pollRepository.findDetailByIdIn(missing)) {
+                    loaded.put(poll.getId(), PollResponse.of(poll));
+                }
+            });
+            loaded.replaceAll((id, poll) -> poll.withVersion(versionOrStart(id, versionOf.get(id))));
+            redisCacheService.cachePolls(loaded);
+            polls.putAll(loaded);
+            // Ids without a poll were deleted while the index was being rebuilt
+            pollIndex.remove(missing.stream().filter(id -> !loaded.containsKey(id)).toList());
+        }
+
+        List<PollResponse> ordered = pollIds.stream().map(polls::get).filter(Objects::nonNull).toList();
+        return new CursorPage<>(ordered, page.nextCursor());
+    }
+
+    // Builds the Redis poll indexes from the database if they are missing (once, even under concurrent requests)
+    private void ensurePollIndex() {
+        if (!pollIndex.isReady()) {
+            singleFlight.load("poll_index", () -> {
+                pollIndex.rebuild(pollRepository.findIndexEntries());
+                return null;
+            });
+        }
     }
 
     /**
-     * Returns all public polls.
+     * Returns one page of public polls: all of them newest first, the active ones closing soonest first,
+     * or the expired ones most recently closed first.
      *
-     * @return List of public polls.
+     * @param status The status to filter on, or null for all public polls.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, or null for the default.
+     * @return The page, or null if the cursor is malformed.
      */
-    public List<Poll> getPublicPolls() {
-        return pollRepository.findByPublicPollTrue();
+    public CursorPage<PollSummary> getPublicPolls(PollStatus status, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        PageCursor after = decodeCursor(cursor);
+        if (cursor != null && after == null) return null;
+        // Filtered listings are ordered by closing time, so their cursors hold validUntil
+        Function<PollSummary, PageCursor> cursorOf = status == null
+                ? PollManager::cursorOf
+                : poll -> new PageCursor(poll.validUntil(), poll.id());
+
+        // Try cache first: the rows of the page, tagged with the polls they show (see cachePollListing)
+        String listing = "public:" + (status == null ? "all" : status.name().toLowerCase()) + ":" + pageSize
+                + ":" + (cursor == null ? "first" : cursor);
+        List<PollSummary> cachedPolls = RedisCacheService.listOf(redisCacheService.getPollListing(listing), PollSummary.class);
+        if (cachedPolls != null) {
+            return toPage(cachedPolls, pageSize, cursorOf);
+        }
+
+        // If not in cache, query the database and cache the rows (concurrent misses share one query)
+        List<PollSummary> polls = singleFlight.load("poll_listing:" + listing, () -> {
+            long loadedAt = redisCacheService.tagClock();
+            Instant now = Instant.now();
+            List<PollSummary> rows = findPublicPolls(status, after, pageSize, now);
+            cachePollListing(listing, rows, CacheKey.of("public_polls"), loadedAt,
+                    publicListingTtlMillis(status, after, rows, now));
+            return rows;
+        });
+        return toPage(polls, pageSize, cursorOf);
+    }
+
+    /** Reads one page of public polls (and the extra row telling whether there is a next page). */
+    private List<PollSummary> findPublicPolls(PollStatus status, PageCursor after, int pageSize, Instant now) {
+        if (status == null) {
+            return after == null
+                    ? pollRepository.findPublicPage(Limit.of(pageSize + 1))
+                    : pollRepository.findPublicPageAfter(after.at(), after.id(), Limit.of(pageSize + 1));
+        }
+        return switch (status) {
+            case ACTIVE -> after == null
+                    ? pollRepository.findActivePublicPage(now, Limit.of(pageSize + 1))
+                    : pollRepository.findActivePublicPageAfter(now, after.at(), after.id(), Limit.of(pageSize + 1));
+            case EXPIRED -> after == null
+                    ? pollRepository.findExpiredPublicPage(now, Limit.of(pageSize + 1))
+                    : pollRepository.findExpiredPublicPageAfter(now, after.at(), after.id(), Limit.of(pageSize + 1));
+        };
     }
 
     /**
-     * Returns all private polls for a given user.
+     * How long a page of public polls can be cached. Filtered pages also change with time: an active
+     * page when its first poll closes, and the first expired page when any public poll closes (the
+     * next expired pages only hold polls that closed before it).
+     */
+    private long publicListingTtlMillis(PollStatus status, PageCursor after, List<PollSummary> rows, Instant now) {
+        Instant changesAt = null;
+        if (status == PollStatus.ACTIVE && !rows.isEmpty()) {
+            changesAt = rows.get(0).validUntil();
+        } else if (status == PollStatus.EXPIRED && after == null) {
+            changesAt = pollRepository.findNextPublicClosing(now);
+        }
+        return changesAt == null
+                ? pollListingTtlMillis
+                : Math.min(pollListingTtlMillis, changesAt.toEpochMilli() - now.toEpochMilli());
+    }
+
+    /**
+     * Returns one page of the private polls of a given user, newest first.
      *
      * @param userId The user ID.
-     * @return List of private polls.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, or null for the default.
+     * @return The page, or null if the cursor is malformed.
      */
-    public List<Poll> getPrivatePolls(UUID userId) {
-        return pollRepository.findByPublicPollFalseAndCreatedBy_Id(userId);
+    public CursorPage<PollSummary> getPrivatePolls(UUID userId, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        PageCursor after = decodeCursor(cursor);
+        if (cursor != null && after == null) return null;
+
+        // Try cache first: the rows of the page, tagged with the polls they show (see cachePollListing)
+        String listing = "private:" + userId + ":" + pageSize + ":" + (cursor == null ? "first" : cursor);
+        List<PollSummary> cachedPolls = RedisCacheService.listOf(redisCacheService.getPollListing(listing), PollSummary.class);
+        if (cachedPolls != null) {
+            return toPage(cachedPolls, pageSize, PollManager::cursorOf);
+        }
+
+        // If not in cache, query the database and cache the rows (concurrent misses share one query)
+        List<PollSummary> polls = singleFlight.load("poll_listing:" + listing, () -> {
+            long loadedAt = redisCacheService.tagClock();
+            List<PollSummary> rows = after == null
+                    ? pollRepository.findPrivatePage(userId, Limit.of(pageSize + 1))
+                    : pollRepository.findPrivatePageAfter(userId, after.at(), after.id(), Limit.of(pageSize + 1));
+            cachePollListing(listing, rows, CacheKey.of("private_polls", userId), loadedAt, pollListingTtlMillis);
+            return rows;
+        });
+        return toPage(polls, pageSize, PollManager::cursorOf);
+    }
+
+    /**
+     * Caches the rows of a listing page, tagged with the set it lists ("public_polls" or
+     * "private_polls:{userId}", invalidated when a poll joins it) and with each poll and creator it
+     * shows ("poll:{pollId}" and "user:{userId}", invalidated when one changes or is deleted).
+     * The tag times are read from Redis before the query (loadedAt), see RedisCacheService.
+     */
+    private void cachePollListing(String listing, List<PollSummary> rows, CacheKey membership,
+                                  long loadedAt, long ttlMillis) {
+        if (ttlMillis < 1000) return; // Changes within a second: not worth caching
+        Set<CacheKey> tags = new LinkedHashSet<>();
+        tags.add(membership);
+        for (PollSummary poll : rows) {
+            tags.add(CacheKey.of("poll", poll.id()));
+            tags.add(CacheKey.of("user", poll.creatorId()));
+        }
+        redisCacheService.cachePollListing(listing, rows, tags, loadedAt, ttlMillis);
     }
 
     /**
@@ -294,19 +581,34 @@ public class PollManager {
      * @param pollId The poll ID.
      * @return The poll or null.
      */
-    public Poll getPollById(UUID pollId) {
+    public PollResponse getPollById(UUID pollId) {
         // Try to get poll from cache
-        Poll cachedPoll = redisCacheService.get("poll", pollId, Poll.class);
-        // Return cached poll if found
-        if (cachedPoll != null) {
-            return cachedPoll;
+        Object cachedPoll = redisCacheService.get("poll", pollId, () -> loadPoll(pollId));
+        // Return cached poll if found, or null if the id is known not to exist
+        if (cachedPoll == RedisCacheService.MISSING) {
+            return null;
         }
+        if (cachedPoll instanceof PollResponse poll) {
+            return poll;
+        }
+
+        // If not in cache, query database; concurrent misses share one query
+        return singleFlight.load("poll:" + pollId, () -> loadPoll(pollId));
+    }
 
-        // If not in cache, query database
-        Poll poll = pollRepository.findById(pollId).orElse(null);
-        // If poll found, cache it
+    /** Loads a poll from the database and caches it, or a tombstone if there is none. */
+    private PollResponse loadPoll(UUID pollId) {
+        // The version is read before the poll, so the version stamped into the response is never newer than its data
+        Long version = redisCacheService.getPollVersion(pollId);
+        // Mapped inside the transaction, where the creator and options can still be loaded
+        PollResponse poll = transactionTemplate.execute(status ->
+                pollRepository.findDetailById(pollId).map(PollResponse::of).orElse(null));
+        // If poll found, cache it, otherwise remember the unknown id
         if (poll != null) {
+            poll = poll.withVersion(versionOrStart(pollId, version));
             redisCacheService.cachePoll(pollId, poll);
+        } else {
+            redisCacheService.putMissing("poll", pollId);
         }
         return poll;
     }
@@ -319,8 +621,8 @@ public class PollManager {
      */
     public Poll deletePollById(UUID pollId) {
 
-        // Find the poll first to return it
-        Poll poll = pollRepository.findById(pollId).orElse(null);
+        // Find the poll first to return it (with its creator, whose cached polls are invalidated)
+        Poll poll = pollRepository.findOwnerViewById(pollId).orElse(null);
 
         // If found, delete from database - cascading will handle related options
         // todo revise cascade problems
@@ -328,14 +630,19 @@ public class PollManager {
             // Get creator ID before deletion for cache invalidation
             UUID creatorId = poll.getCreatedBy().getId();
 
-            // Invalidate all related caches
-            redisCacheService.delete("poll", pollId);
-            redisCacheService.delete("all_polls", null);
-            redisCacheService.delete("user_polls", creatorId);
-            redisCacheService.delete("poll_results", pollId);
-            redisCacheService.delete("poll_votes", pollId);
+            // Invalidate all related caches in one round trip
+            redisCacheService.invalidate(List.of(
+                    CacheKey.of("poll", pollId),
+                    CacheKey.of("user_polls", creatorId),
+                    CacheKey.of("poll_results", pollId),
+                    CacheKey.of("poll_votes", pollId)));
 
             pollRepository.deleteById(pollId);
+            // The listings showing the poll (the others keep their keyset pages)
+            redisCacheService.invalidateTags(List.of(CacheKey.of("poll", pollId)));
+            tallyEngine.evict(pollId);
+            // Deleted rather than bumped: only a poll that exists keeps a version
+            redisCacheService.invalidate(List.of(CacheKey.of("poll_version", pollId)));
         }
 
         return poll;
@@ -349,30 +656,35 @@ public class PollManager {
      * @param userId The requesting user's ID.
      * @return Updated poll or null.
      */
-    public Poll updatePollPrivacy(UUID pollId, boolean isPublic, UUID userId) {
-        // Find the poll
-        Poll poll = pollRepository.findById(pollId).orElse(null);
-        if (poll == null) return null;
-
-        // Check if user exists and is the poll owner (like your vote authorization)
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) return null;
-
-        if (!poll.getCreatedBy().getId().equals(userId)) {
-            return null; // Not the owner - return null like your vote logic
-        }
-
-        // Update the privacy status
-        poll.setPublicPoll(isPublic);
+    public PollResponse updatePollPrivacy(UUID pollId, boolean isPublic, UUID userId) {
+        // Update and map in one transaction, so the creator and options of the response can be loaded
+        PollResponse updatedPoll = transactionTemplate.execute(status -> {
+            // Find the poll, with the creator and options it is returned with
+            Poll poll = pollRepository.findDetailById(pollId).orElse(null);
+            if (poll == null) return null;
+
+            // Check if user exists and is the poll owner (like your vote authorization)
+            if (!userRepository.existsById(userId)) return null;
+
+            if (!poll.getCreatedBy().getId().equals(userId)) {
+                return null; // Not the owner - return null like your vote logic
+            }
 
-        // Save the updated poll
-        Poll updatedPoll = pollRepository.save(poll);
+            // Update the privacy status and write it now (the poll indexes are updated after the commit)
+            poll.setPublicPoll(isPublic);
+            return PollResponse.of(pollRepository.saveAndFlush(poll));
+        });
+        if (updatedPoll == null) return null;
 
         // Invalidate relevant caches
-        redisCacheService.delete("poll", pollId);
-        redisCacheService.delete("all_polls", null);
-        redisCacheService.delete("user_polls", poll.getCreatedBy().getId());
-        redisCacheService.delete("poll_results", pollId);
+        redisCacheService.invalidate(List.of(
+                CacheKey.of("poll", pollId),
+                CacheKey.of("user_polls", userId)));
+        // The listings the poll leaves (they show it) and the ones it joins
+        redisCacheService.invalidateTags(List.of(
+                CacheKey.of("poll", pollId),
+                isPublic ? CacheKey.of("public_polls") : CacheKey.of("private_polls", userId)));
+        redisCacheService.bumpPollVersion(pollId);
 
         return updatedPoll;
     }
@@ -385,8 +697,8 @@ public class PollManager {
      * @return The saved option or null.
      */
     public VoteOption addOptionToPoll(UUID pollId, VoteOption option) {
-        // Find the target poll from database
-        Poll poll = pollRepository.findById(pollId).orElse(null);
+        // Find the target poll from database, with the options the new one is added to
+        Poll poll = pollRepository.findDetailById(pollId).orElse(null);
         if (poll == null) return null;
 
         // No need to generate ID manually - JPA will handle it
@@ -403,8 +715,16 @@ public class PollManager {
         pollRepository.save(poll);
 
         // Invalidate caches since poll structure changed
-        redisCacheService.delete("poll", pollId);
-        redisCacheService.delete("poll_results", pollId);
+        redisCacheService.invalidate(List.of(
+                CacheKey.of("poll", pollId),
+                CacheKey.of("poll_results", pollId),
+                CacheKey.of("option", savedOption.getId())));
+        // Listings show the number of options; with its first option a public poll joins the active listings
+        redisCacheService.invalidateTags(poll.isPublicPoll() && poll.getOptions().size() == 1
+                ? List.of(CacheKey.of("poll", pollId), CacheKey.of("public_polls"))
+                : List.of(CacheKey.of("poll", pollId)));
+        tallyEngine.evict(pollId);
+        redisCacheService.bumpPollVersion(pollId);
 
         return savedOption;
     }
@@ -422,9 +742,13 @@ public class PollManager {
             UUID pollId = voteOption.getPoll().getId();
             voteOptionRepository.deleteById(optionId);
 
-            redisCacheService.delete("poll", pollId);
-            redisCacheService.delete("poll_results", pollId);
-            redisCacheService.delete("option", optionId);
+            redisCacheService.invalidate(List.of(
+                    CacheKey.of("poll", pollId),
+                    CacheKey.of("poll_results", pollId),
+                    CacheKey.of("option", optionId)));
+            redisCacheService.invalidateTags(List.of(CacheKey.of("poll", pollId)));
+            tallyEngine.evict(pollId);
+            redisCacheService.bumpPollVersion(pollId);
         }
         return voteOption;
     }
@@ -435,14 +759,13 @@ public class PollManager {
      * @param pollId The poll ID.
      * @return List of options or null.
      */
-    public List<VoteOption> getAllOptionsByPoll(UUID pollId) {
+    public List<OptionResponse> getAllOptionsByPoll(UUID pollId) {
         /*  Before DB
 
          */
-        Poll poll = pollRepository.findById(pollId).orElse(null);
-        if (poll == null) return null;
-        // Return the list of options for this poll
-        return poll.getOptions();
+        // The options of the cached poll, already in presentation order: no query on a cache hit
+        PollResponse poll = getPollById(pollId);
+        return poll == null ? null : poll.options();
     }
 
     /**
@@ -451,18 +774,29 @@ public class PollManager {
      * @param optionId The option ID.
      * @return The option or null.
      */
-    public VoteOption getOptionById(UUID optionId) {
+    public OptionResponse getOptionById(UUID optionId) {
         /*  Before DB
 
          */
-        VoteOption cachedOption = redisCacheService.get("option", optionId, VoteOption.class);
-        if (cachedOption != null) {
-            return cachedOption;
+        Object cachedOption = redisCacheService.get("option", optionId, () -> loadOption(optionId));
+        if (cachedOption == RedisCacheService.MISSING) {
+            return null; // known not to exist
+        }
+        if (cachedOption instanceof OptionResponse option) {
+            return option;
         }
 
-        VoteOption voteOption = voteOptionRepository.findById(optionId).orElse(null);
+        return loadOption(optionId);
+    }
+
+    /** Loads an option from the database and caches it, or a tombstone if there is none. */
+    private OptionResponse loadOption(UUID optionId) {
+        OptionResponse voteOption = transactionTemplate.execute(status ->
+                voteOptionRepository.findById(optionId).map(OptionResponse::of).orElse(null));
         if (voteOption != null) {
             redisCacheService.cacheVoteOption(optionId, voteOption);
+        } else {
+            redisCacheService.putMissing("option", optionId);
         }
         return voteOption;
     }
@@ -480,13 +814,8 @@ public class PollManager {
         /*  Before DB
 
          */
-        VoteOption option = voteOptionRepository.findById(optionId).orElse(null);
-        if (option == null) return false;
-        Poll poll = pollRepository.findById(pollId).orElse(null);
-        if (poll == null) return false;
-
-        // Check if this option belongs to the given poll
-        return poll.getOptions().contains(option);
+        // Single existence query, without loading the poll and its options
+        return voteOptionRepository.existsByIdAndPoll_Id(optionId, pollId);
     }
 
     /**
@@ -502,12 +831,17 @@ public class PollManager {
         /*  Before DB
 
          */
-        // Validate existence of poll, user and option from database
-        Poll poll = pollRepository.findById(pollId).orElse(null);
+        // Validate the option from database; only the id of its (LAZY) poll is read,
+        // so neither the poll nor the option's votes are loaded
         VoteOption option = voteOptionRepository.findById(optionId).orElse(null);
 
-        if (poll == null || option == null) {
-            return null; // missing poll/option -> fail
+        if (option == null) {
+            return null; // missing option -> fail
+        }
+
+        // Ensure the option actually belongs to the poll (this also proves the poll exists)
+        if (option.getPoll() == null || !pollId.equals(option.getPoll().getId())) {
+            return null; // invalid relationship - controller should treat as bad request
         }
 
         User voter = null;
@@ -518,16 +852,6 @@ public class PollManager {
             }
         }
 
-        //user is already voted in this poll
-        if (voter != null && voteRepository.existsByVoter_IdAndOptionPoll_Id(voterId, pollId)) {
-            return null;
-        }
-
-        // Ensure the option actually belongs to the poll
-        if (option.getPoll() == null || !pollId.equals(option.getPoll().getId())) {
-            return null; // invalid relationship - controller should treat as bad request
-        }
-
         // Create Vote instance using your existing Vote constructors
         Vote vote = new Vote();                  // uses default constructor
         // No need to assign ID manually - JPA will handle it
@@ -540,30 +864,97 @@ public class PollManager {
             vote.setVoter(null); // anonymous vote
         }
         vote.setOption(option);
-
-        // Persist in database
-        Vote savedVote = voteRepository.save(vote);
-
-        // if voter present, add to their votes
-        if (voter != null) {
-            voter.getVotes().add(savedVote);
-            userRepository.save(voter);
+        vote.setPoll(option.getPoll());
+
+        // Write-behind mode: queue the vote and acknowledge it, the background writer persists it in a batch
+        if (voteIngestionService.isWriteBehind()) {
+            // The insert happens later, so the unique index cannot answer on this request: the ingestion
+            // service checks the database once the voter/poll pair is reserved against queued votes
+            vote.setId(UUID.randomUUID());
+            PendingVote pending = new PendingVote(vote.getId(), pollId, optionId, voterId, vote.getPublishedAt());
+            switch (voteIngestionService.submit(pending,
+                    () -> voteRepository.existsByVoter_IdAndPoll_Id(voterId, pollId))) {
+                case QUEUED:
+                    return vote;
+                case DUPLICATE:
+                    return null; // this user already voted in this poll, or has a queued vote for it
+                default:
+                    vote.setId(null); // queue full: fall back to the synchronous write below
+            }
         }
 
-        // add the vote to the option's vote set
-        option.getVotes().add(savedVote);
-        voteOptionRepository.save(option);
+        // Persist in database with a single INSERT. There is no "already voted?" query before it:
+        // the unique index on (voter_id, poll_id) rejects a second vote of the same user, also
+        // when two requests race. Only the votes row and the counter are written; the inverse
+        // collections User.votes and VoteOption.votes are never touched, so they are not loaded.
+        // The row and the counter (UPDATE ... SET vote_count = vote_count + 1) commit together
+        Vote savedVote;
+        try {
+            savedVote = transactionTemplate.execute(status -> {
+                Vote saved = voteRepository.saveAndFlush(vote);
+                voteOptionRepository.incrementVoteCount(optionId);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return null; // user has already voted in this poll -> controller answers 409
+        }
+        recordLiveResult(pollId, optionId, 1);
 
-        votePublisher.publishVote(savedVote);
+        votePublisher.publishVote(VoteResponse.of(savedVote));
 
-        // Invalidate affected caches
-        redisCacheService.delete("poll_results", pollId);
-        redisCacheService.delete("poll_votes", pollId);
-        redisCacheService.delete("poll", pollId);
+        // Invalidate affected caches (the results hash was incremented above, not invalidated);
+        // the cached poll carries no counts, so it and its version stay as they are
+        redisCacheService.invalidate(List.of(
+                CacheKey.of("poll_votes", pollId),
+                CacheKey.of("vote", savedVote.getId())));
 
         return savedVote;
     }
 
+    /**
+     * Returns true if votes are acknowledged before they are written (write-behind ingestion mode).
+     *
+     * @return True in write-behind mode, false in the default synchronous mode.
+     */
+    public boolean isWriteBehindVoting() {
+        return voteIngestionService.isWriteBehind();
+    }
+
+    /**
+     * Runs the side effects of a batch written by the write-behind pipeline:
+     * publishes one event per vote and invalidates the caches of each affected poll once.
+     *
+     * @param event The flushed batch.
+     */
+    @EventListener
+    public void onVoteBatchFlushed(VoteBatchFlushedEvent event) {
+        Set<UUID> pollIds = new LinkedHashSet<>();
+        for (PendingVote pending : event.votes()) {
+            Vote vote = new Vote();
+            vote.setId(pending.voteId());
+            vote.setPublishedAt(pending.publishedAt());
+            if (pending.voterId() != null) {
+                vote.setVoterId(pending.voterId());
+            }
+            vote.setOptionId(pending.optionId());
+            vote.setPollId(pending.pollId());
+            votePublisher.publishVote(VoteResponse.of(vote));
+
+            recordLiveResult(pending.pollId(), pending.optionId(), 1);
+            pollIds.add(pending.pollId());
+        }
+
+        // The votes were acknowledged with their ids before being written: clear tombstones of early lookups
+        List<CacheKey> staleKeys = new ArrayList<>(pollIds.size() + event.votes().size());
+        for (PendingVote pending : event.votes()) {
+            staleKeys.add(CacheKey.of("vote", pending.voteId()));
+        }
+        for (UUID pollId : pollIds) {
+            staleKeys.add(CacheKey.of("poll_votes", pollId));
+        }
+        redisCacheService.invalidate(staleKeys);
+    }
+
     /**
      * Updates an existing vote by changing the selected option.
      *
@@ -576,73 +967,71 @@ public class PollManager {
         /*  Before DB
 
          */
-        Poll poll = pollRepository.findById(pollId).orElse(null);
-        User voter = userRepository.findById(voterId).orElse(null);
         VoteOption newOption = voteOptionRepository.findById(newOptionId).orElse(null);
 
         // Basic existence checks
-        if (poll == null || voter == null || newOption == null) return null;
+        if (voterId == null || newOption == null) return null;
 
         // Ensure new option belongs to the poll
         if (newOption.getPoll() == null || !pollId.equals(newOption.getPoll().getId())) {
             return null; // new option not in the same poll
         }
 
-        // Find the voter's existing vote that is for this poll.
-        // We search the user's votes and check if the vote's option belongs to this poll.
-        Vote existingVote = null;
-        for (Vote v : voter.getVotes()) {
-            VoteOption currentOption = v.getOption();
-            if (currentOption != null && currentOption.getPoll() != null
-                    && pollId.equals(currentOption.getPoll().getId())) {
-                existingVote = v;
-                break;
+        // Find the voter's existing vote for this poll with a single indexed query (instead of
+        // iterating over all the votes of the user), then point it to the new option and move it
+        // between the option counters, all in one transaction
+        UUID[] oldOptionId = new UUID[1];
+        Vote updatedVote = transactionTemplate.execute(status -> {
+            Vote existingVote = voteRepository.findByVoter_IdAndPoll_Id(voterId, pollId).orElse(null);
+            if (existingVote == null) {
+                return null; // user has not voted in this poll (or does not exist)
             }
-        }
 
-        if (existingVote == null) {
-            return null; // user has not voted in this poll
-        }
+            // If the existing vote already points to the same option, nothing to do
+            oldOptionId[0] = existingVote.getOptionId();
+            if (newOption.getId().equals(oldOptionId[0])) {
+                return existingVote; // no change
+            }
 
-        // If the existing vote already points to the same option, nothing to do
-        if (existingVote.getOption() != null
-                && newOption.getId().equals(existingVote.getOption().getId())) {
-            return existingVote; // no change
+            existingVote.setOption(newOption);
+            Vote saved = voteRepository.save(existingVote);
+            if (oldOptionId[0] != null) {
+                voteOptionRepository.decrementVoteCount(oldOptionId[0]);
+            }
+            voteOptionRepository.incrementVoteCount(newOption.getId());
+            return saved;
+        });
+        if (updatedVote == null || newOption.getId().equals(oldOptionId[0])) {
+            return updatedVote;
         }
 
-        // Remove vote from old option's vote set
-        VoteOption oldOption = existingVote.getOption();
-        if (oldOption != null) {
-            oldOption.getVotes().remove(existingVote);
-            voteOptionRepository.save(oldOption); // Update old option
+        // Live tallies only once committed
+        if (oldOptionId[0] != null) {
+            recordLiveResult(pollId, oldOptionId[0], -1);
         }
-
-        // Assign the new option and add to its votes set
-        existingVote.setOption(newOption);
-        newOption.getVotes().add(existingVote);
-
-        // Save the updated vote and option
-        Vote updatedVote = voteRepository.save(existingVote);
-        voteOptionRepository.save(newOption);
+        recordLiveResult(pollId, newOption.getId(), 1);
 
         // Invalidate caches
-        redisCacheService.delete("poll_results", pollId);
         redisCacheService.delete("poll_votes", pollId);
 
-
         return updatedVote;
     }
 
     /**
-     * Returns all votes in the system.
+     * Returns one page of all votes in the system, newest first.
      *
-     * @return List of all votes.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, or null for the default.
+     * @return The page, or null if the cursor is malformed.
      */
-    public List<Vote> getAllVotes() {
-        /*  Before DB
-
-         */
-        return voteRepository.findAll();
+    public CursorPage<VoteResponse> getAllVotes(String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        PageCursor after = decodeCursor(cursor);
+        if (cursor != null && after == null) return null;
+        List<Vote> votes = after == null
+                ? voteRepository.findPage(Limit.of(pageSize + 1))
+                : voteRepository.findPageAfter(after.at(), after.id(), Limit.of(pageSize + 1));
+        return toPage(votes.stream().map(VoteResponse::of).toList(), pageSize, PollManager::cursorOf);
     }
 
     /**
@@ -651,42 +1040,49 @@ public class PollManager {
      * @param optionId The option ID.
      * @return List of votes or null.
      */
-    public List<Vote> getVotesByOption(UUID optionId) {
+    public List<VoteResponse> getVotesByOption(UUID optionId) {
         /*  Before DB
 
          */
-        VoteOption option = voteOptionRepository.findById(optionId).orElse(null);
-        if (option == null) return null;
+        if (!voteOptionRepository.existsById(optionId)) return null;
 
-        return new ArrayList<>(option.getVotes());
+        // Reads the votes alone, without loading the option and initializing its collection
+        return voteRepository.findByOption_Id(optionId).stream().map(VoteResponse::of).toList();
     }
 
     /**
-     * Aggregates vote counts for a poll by collecting all votes from its options.
-     * Uses a cache-first lookup.
+     * Returns one page of the votes of a poll, newest first.
+     * The first page of the default size uses a cache-first lookup.
      *
      * @param pollId The poll ID.
-     * @return List of votes.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, or null for the default.
+     * @return The page, or null if the cursor is malformed.
      */
-    public List<Vote> getVotesByPoll(UUID pollId) {
-        /*  Before DB
-
-         */
-        Object cachedVotes = redisCacheService.get("poll_votes", pollId, List.class);
-        if (cachedVotes instanceof List) {
-            return (List<Vote>) cachedVotes;
-        }
-
-        Poll poll = pollRepository.findById(pollId).orElse(null);
-        if (poll == null) return Collections.emptyList();
+    public CursorPage<VoteResponse> getVotesByPoll(UUID pollId, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        if (cursor == null && pageSize == defaultPageSize) {
+            List<VoteResponse> cachedVotes = RedisCacheService.listOf(redisCacheService.get("poll_votes", pollId), VoteResponse.class);
+            if (cachedVotes != null) {
+                return toPage(cachedVotes, pageSize, PollManager::cursorOf);
+            }
 
-        List<Vote> pollVotes = new ArrayList<>();
-        for (VoteOption option : poll.getOptions()) {
-            pollVotes.addAll(option.getVotes());
+            List<VoteResponse> votes = singleFlight.load("poll_votes:" + pollId, () -> {
+                // One row more than the page tells whether there is a next page
+                List<VoteResponse> firstPage = voteRepository.findPollPage(pollId, Limit.of(pageSize + 1)).stream()
+                        .map(VoteResponse::of).toList();
+                redisCacheService.cachePollVotes(pollId, firstPage);
+                return firstPage;
+            });
+            return toPage(votes, pageSize, PollManager::cursorOf);
         }
 
-        redisCacheService.cachePollVotes(pollId, pollVotes);
-        return pollVotes;
+        PageCursor after = decodeCursor(cursor);
+        if (cursor != null && after == null) return null;
+        List<Vote> votes = after == null
+                ? voteRepository.findPollPage(pollId, Limit.of(pageSize + 1))
+                : voteRepository.findPollPageAfter(pollId, after.at(), after.id(), Limit.of(pageSize + 1));
+        return toPage(votes.stream().map(VoteResponse::of).toList(), pageSize, PollManager::cursorOf);
     }
 
     /**
@@ -695,18 +1091,23 @@ public class PollManager {
      * @param voteId The vote ID.
      * @return The vote or null.
      */
-    public Vote getVoteById(UUID voteId) {
+    public VoteResponse getVoteById(UUID voteId) {
         /*  Before DB
 
          */
-        Vote cachedVote = redisCacheService.get("vote", voteId, Vote.class);
-        if (cachedVote != null) {
-            return cachedVote;
+        Object cachedVote = redisCacheService.get("vote", voteId);
+        if (cachedVote == RedisCacheService.MISSING) {
+            return null; // known not to exist (a queued vote is cleared when its batch is written)
+        }
+        if (cachedVote instanceof VoteResponse vote) {
+            return vote;
         }
 
-        Vote vote = voteRepository.findById(voteId).orElse(null);
+        VoteResponse vote = voteRepository.findById(voteId).map(VoteResponse::of).orElse(null);
         if (vote != null) {
             redisCacheService.cacheVote(voteId, vote);
+        } else {
+            redisCacheService.putMissing("vote", voteId);
         }
         return vote;
     }
@@ -724,47 +1125,132 @@ public class PollManager {
          */
         Vote vote = voteRepository.findById(voteId).orElse(null);
         if (vote != null) {
-            UUID pollId = null;
-            if (vote.getOption() != null && vote.getOption().getPoll() != null) {
-                pollId = vote.getOption().getPoll().getId();
+            // Only the ids are read: the option and its poll are not initialized
+            UUID optionId = vote.getOptionId();
+            UUID pollId = vote.getPollId();
+            if (pollId == null && optionId != null) {
+                // votes stored before the poll_id column existed
+                pollId = voteOptionRepository.findPollIdById(optionId).orElse(null);
             }
 
-            // Remove from option's votes
-            if (vote.getOption() != null) {
-                vote.getOption().getVotes().remove(vote);
-                voteOptionRepository.save(vote.getOption());
+            // Delete only the votes row and update the counter, in one transaction; the inverse
+            // collections User.votes and VoteOption.votes are not loaded
+            transactionTemplate.executeWithoutResult(status -> {
+                voteRepository.delete(vote);
+                if (optionId != null) {
+                    voteOptionRepository.decrementVoteCount(optionId);
+                }
+            });
+            if (optionId != null) {
+                recordLiveResult(pollId, optionId, -1);
             }
-            // Remove from user's votes
-            if (vote.getVoter() != null) {
-                vote.getVoter().getVotes().remove(vote);
-                userRepository.save(vote.getVoter());
-            }
-            // Delete the vote
-            voteRepository.deleteById(voteId);
 
             // Invalidate caches
-            redisCacheService.delete("vote", voteId);
             if (pollId != null) {
-                redisCacheService.delete("poll_results", pollId);
-                redisCacheService.delete("poll_votes", pollId);
+                redisCacheService.invalidate(List.of(
+                        CacheKey.of("vote", voteId),
+                        CacheKey.of("poll_votes", pollId)));
+            } else {
+                redisCacheService.delete("vote", voteId);
             }
         }
         return vote;
     }
 
     /**
-     * Counts votes for each option of a poll using repository aggregation.
+     * Returns the version of a poll: a number that grows with every change to the poll or its
+     * options (votes do not change it, they are counted in the results). Read from Redis only and
+     * never created by the read, so requests for unknown ids leave nothing behind. Only a poll
+     * that exists has one: it starts when the poll is first loaded and is deleted with the poll.
      *
      * @param pollId The poll ID.
-     * @return Map of optionId → voteCount.
+     * @return The current version, or null if the poll has none.
+     */
+    public Long getPollVersion(UUID pollId) {
+        return redisCacheService.getPollVersion(pollId);
+    }
+
+    // The version read before loading a poll that was found, or its first one if it had none. Starting it after the load
+    // is safe: a change committed meanwhile would have created the key first, and then null is returned (no stamp)
+    private Long versionOrStart(UUID pollId, Long versionReadBefore) {
+        return versionReadBefore != null ? versionReadBefore : redisCacheService.startPollVersion(pollId);
+    }
+
+    //------------------------------------------------ PAGING ----------------------------------------------------------
+
+    // Page size of a request: the default when none was given, never more than the maximum
+    private int pageSize(Integer limit) {
+        return limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    // Parses a client cursor; null for the first page or a malformed cursor
+    private static PageCursor decodeCursor(String cursor) {
+        if (cursor == null) return null;
+        try {
+            return PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Cuts the rows of a keyset query (fetched with one extra row) into a page; the extra row only
+    // tells that there is a next page, which starts after the last row of this one
+    private static <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, pageSize));
+        return new CursorPage<>(items, cursorOf.apply(items.get(pageSize - 1)).encode());
+    }
+
+    private static PageCursor cursorOf(PollSummary poll) {
+        return new PageCursor(poll.publishedAt(), poll.id());
+    }
+
+    private static PageCursor cursorOf(VoteResponse vote) {
+        return new PageCursor(vote.publishedAt(), vote.id());
+    }
+
+    /**
+     * Applies a vote change to the live results of a poll: the in-memory tally of this
+     * node and the Redis hash {@code poll_results:{pollId}} shared by all nodes.
+     * The durable option counter is updated separately.
+     * The hash goes first: a tally being hydrated then finds the vote in it when it reads again.
+     *
+     * @param pollId   The poll ID.
+     * @param optionId The option whose count changes.
+     * @param delta    +1 for a new vote, -1 for a removed one.
+     */
+    private void recordLiveResult(UUID pollId, UUID optionId, long delta) {
+        redisCacheService.incrementPollResult(pollId, optionId, delta);
+        tallyEngine.recordVote(pollId, optionId, delta);
+    }
+
+    /**
+     * Returns the results of a poll: the vote count, caption and presentation order
+     * of every option. Served from the in-memory tally engine, which reads the counts
+     * from the Redis results hash (or the option counters) the first time a poll is requested.
+     *
+     * @param pollId The poll ID.
+     * @return The poll results, or null if the poll does not exist.
+     */
+    public PollResults getPollResults(UUID pollId) {
+        return tallyEngine.getResults(pollId);
+    }
+
+    /**
+     * Counts votes for each option of a poll using the in-memory tally.
+     *
+     * @param pollId The poll ID.
+     * @return Map of optionId → voteCount, or null if the poll does not exist.
      */
     public Map<UUID, Long> countVotesForPoll(UUID pollId) {
-        List<VoteOption> options = voteOptionRepository.findByPollId(pollId);
+        PollResults results = getPollResults(pollId);
+        if (results == null) return null;
 
-        Map<UUID, Long> votesPerOption = new HashMap<>();
-        for (VoteOption option : options) {
-            long count = voteRepository.countByOption_Id(option.getId());
-            votesPerOption.put(option.getId(), count);
+        Map<UUID, Long> votesPerOption = new LinkedHashMap<>();
+        for (OptionResult option : results.options()) {
+            votesPerOption.put(option.optionId(), option.voteCount());
         }
 
         return votesPerOption;
@@ -779,16 +1265,19 @@ public class PollManager {
      * @param pollId The poll ID.
      */
     public void clearPollCache(UUID pollId) {
-        redisCacheService.delete("poll", pollId);
-        redisCacheService.delete("poll_results", pollId);
-        redisCacheService.delete("poll_votes", pollId);
+        redisCacheService.invalidate(List.of(
+                CacheKey.of("poll", pollId),
+                CacheKey.of("poll_results", pollId),
+                CacheKey.of("poll_votes", pollId)));
     }
 
     /**
-     * Clears global caches for all polls and all users.
+     * Clears global caches: the list of all users, the poll indexes (rebuilt by the next listing)
+     * and the public poll listings.
      */
     public void clearAllCache() {
-        redisCacheService.delete("all_polls", null);
         redisCacheService.delete("all_users", null);
+        redisCacheService.invalidateTags(List.of(CacheKey.of("public_polls")));
+        pollIndex.clear();
     }
 }
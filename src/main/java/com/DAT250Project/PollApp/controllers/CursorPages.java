@@ -0,0 +1,46 @@
+package com.DAT250Project.PollApp.controllers;
+
+import com.DAT250Project.PollApp.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Builds the responses of listings paged with cursors: the items as the body, and the cursor
+ * of the next page, if any, in the {@value #NEXT_CURSOR_HEADER} header.
+ */
+final class CursorPages {
+
+    /** Response header carrying the cursor of the next page of a listing. */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorPages() {}
+
+    /**
+     * Returns a page as a 200 response, or 400 BAD REQUEST if the page is null (malformed cursor).
+     *
+     * @param page the page, or null if the request's cursor was malformed
+     * @param <T>  the item type
+     * @return the response
+     */
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        if (page == null) {
+            return ResponseEntity.badRequest().build(); // BAD REQUEST = 400
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items()); // OK = 200
+    }
+
+    /**
+     * Whether a requested page size is acceptable (absent, or at least 1).
+     *
+     * @param limit the limit request parameter
+     * @return true if the limit is valid
+     */
+    static boolean isValidLimit(Integer limit) {
+        return limit == null || limit >= 1;
+    }
+}
@@ -1,16 +1,32 @@
 package com.DAT250Project.PollApp.controllers;
 
+import com.DAT250Project.PollApp.CacheConfig.PollIndex;
 import com.DAT250Project.PollApp.PollManager;
+import com.DAT250Project.PollApp.dto.OptionResponse;
+import com.DAT250Project.PollApp.dto.PollResponse;
+import com.DAT250Project.PollApp.dto.PollResults;
+import com.DAT250Project.PollApp.dto.PollStatus;
+import com.DAT250Project.PollApp.dto.PollSummary;
+import com.DAT250Project.PollApp.live.ResultsStreamService;
 import com.DAT250Project.PollApp.model.Poll;
 import com.DAT250Project.PollApp.model.VoteOption;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
@@ -25,61 +41,111 @@ import java.util.UUID;
 public class PollController {
 
     private final PollManager pollManager;
+    private final ResultsStreamService resultsStreamService;
 
     /**
-     * Constructs the PollController with the required PollManager dependency.
+     * Constructs the PollController with the required dependencies.
      *
-     * @param pollManager the service layer managing poll operations
+     * @param pollManager          the service layer managing poll operations
+     * @param resultsStreamService the service pushing live results to subscribed clients
      */
-    public PollController(PollManager pollManager) {
+    public PollController(PollManager pollManager, ResultsStreamService resultsStreamService) {
         this.pollManager = pollManager;
+        this.resultsStreamService = resultsStreamService;
     }
 
     /**
      * Creates a new poll.
      *
      * @param poll the poll data to create
-     * @return the created poll wrapped in a ResponseEntity with HTTP 201 status
+     * @return the created poll wrapped in a ResponseEntity with HTTP 201 status, or 400 if the creator does not exist
      */
     @Operation(summary = "Create a new poll", description = "Creates a new poll and returns it")
     @PostMapping
-    public ResponseEntity<Poll> createPoll(@RequestBody Poll poll) {
+    public ResponseEntity<PollResponse> createPoll(@RequestBody Poll poll) {
         Poll createdPoll = pollManager.createPoll(poll);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdPoll); // CREATED = 201
+        if (createdPoll == null) {
+            return ResponseEntity.badRequest().build(); // no existing creator, BAD REQUEST = 400
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(PollResponse.of(createdPoll)); // CREATED = 201
     }
 
     /**
-     * Retrieves all polls.
+     * Retrieves one page of polls.
+     * Polls are listed newest first ({@code sort=published}) or closing soonest first ({@code sort=validUntil});
+     * the cursor of the next page, if any, is returned in the X-Next-Cursor header.
      *
-     * @return a list of all polls with HTTP 200 status
+     * @param sort       "published" or "validUntil"
+     * @param publicOnly true to list public polls only (newest first)
+     * @param cursor     the cursor of the previous page, absent for the first page
+     * @param limit      the page size, capped at the maximum page size
+     * @return a page of polls with HTTP 200 status, or 400 BAD REQUEST for invalid parameters
      */
-    @Operation(summary = "Get all polls", description = "Returns a list of all polls")
+    @Operation(summary = "Get all polls", description = "Returns a page of polls; the next page's cursor is in the X-Next-Cursor header")
     @GetMapping
-    public ResponseEntity<List<Poll>> getAllPolls() {
-        return ResponseEntity.ok(pollManager.getAllPolls()); // OK = 200
+    public ResponseEntity<List<PollResponse>> getAllPolls(@RequestParam(defaultValue = "published") String sort,
+                                                          @RequestParam(defaultValue = "false") boolean publicOnly,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        PollIndex.Order order = switch (sort) {
+            case "published" -> publicOnly ? PollIndex.Order.PUBLIC : PollIndex.Order.PUBLISHED;
+            case "validUntil" -> publicOnly ? null : PollIndex.Order.VALID_UNTIL;
+            default -> null;
+        };
+        if (order == null || !CursorPages.isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build(); // BAD REQUEST = 400
+        }
+        return CursorPages.ok(pollManager.getPollPage(order, cursor, limit));
     }
 
     /**
-     * Retrieves all public polls.
+     * Retrieves one page of public polls: all of them newest first, or only the active
+     * ({@code status=active}, closing soonest first) or expired ones ({@code status=expired}, most recently closed first).
      *
-     * @return a list of public polls with HTTP 200 status
+     * @param status "active" or "expired", absent for all public polls
+     * @param cursor the cursor of the previous page, absent for the first page
+     * @param limit  the page size, capped at the maximum page size
+     * @return a page of public poll summaries with HTTP 200 status, or 400 BAD REQUEST for invalid parameters
      */
-    @Operation(summary = "Get public polls", description = "Returns a list of all the public polls")
+    @Operation(summary = "Get public polls", description = "Returns a page of the public polls, optionally only the active or expired ones; the next page's cursor is in the X-Next-Cursor header")
     @GetMapping("/public")
-    public ResponseEntity<List<Poll>> getPublicPolls() {
-        return ResponseEntity.ok(pollManager.getPublicPolls());
+    public ResponseEntity<List<PollSummary>> getPublicPolls(@RequestParam(required = false) String status,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        PollStatus pollStatus = null;
+        if (status != null) {
+            pollStatus = switch (status) {
+                case "active" -> PollStatus.ACTIVE;
+                case "expired" -> PollStatus.EXPIRED;
+                default -> null;
+            };
+            if (pollStatus == null) {
+                return ResponseEntity.badRequest().build(); // BAD REQUEST = 400
+            }
+        }
+        if (!CursorPages.isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return CursorPages.ok(pollManager.getPublicPolls(pollStatus, cursor, limit));
     }
 
     /**
-     * Retrieves all private polls belonging to a specific user.
+     * Retrieves one page of the private polls belonging to a specific user, newest first.
      *
      * @param userId the UUID of the user
-     * @return a list of the user's private polls with HTTP 200 status
+     * @param cursor the cursor of the previous page, absent for the first page
+     * @param limit  the page size, capped at the maximum page size
+     * @return a page of summaries of the user's private polls with HTTP 200 status, or 400 BAD REQUEST for invalid parameters
      */
-    @Operation(summary = "Get private polls of an user", description = "Returns a list of all the privates polls from an user")
+    @Operation(summary = "Get private polls of an user", description = "Returns a page of the privates polls from an user")
     @GetMapping("/private/{userId}")
-    public ResponseEntity<List<Poll>> getPrivatePolls(@PathVariable UUID userId) {
-        return ResponseEntity.ok(pollManager.getPrivatePolls(userId));
+    public ResponseEntity<List<PollSummary>> getPrivatePolls(@PathVariable UUID userId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit) {
+        if (!CursorPages.isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return CursorPages.ok(pollManager.getPrivatePolls(userId, cursor, limit));
     }
 
     /**
@@ -90,24 +156,36 @@ public class PollController {
      */
     @Operation(summary = "Get private and public polls of an user", description = "Returns a list of all the polls from an user")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Poll>> getUserPolls(@PathVariable UUID userId) {
+    public ResponseEntity<List<PollResponse>> getUserPolls(@PathVariable UUID userId) {
         return ResponseEntity.ok(pollManager.getPollsByUser(userId));
     }
 
     /**
      * Retrieves a poll by its ID.
+     * The response carries an ETag built from the poll version it was loaded at. A request whose
+     * If-None-Match holds the current version gets 304 NOT MODIFIED from Redis alone, without
+     * loading the poll: only an existing poll has a version (a deleted poll is 404 whatever
+     * ETag the client has).
      *
-     * @param pollId the UUID of the poll to retrieve
-     * @return the poll if found, otherwise 404 NOT FOUND
+     * @param pollId      the UUID of the poll to retrieve
+     * @param ifNoneMatch the ETag(s) the client already has, if any
+     * @return the poll if found, 304 if unchanged, otherwise 404 NOT FOUND
      */
     @Operation(summary = "Get a poll", description = "Get a poll by its ID")
     @GetMapping("/{pollId}")
-    public ResponseEntity<Poll> getPollById(@PathVariable UUID pollId) {
-        Poll poll = pollManager.getPollById(pollId);
+    public ResponseEntity<PollResponse> getPollById(@PathVariable UUID pollId,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ResponseEntity<PollResponse> unchanged = notModifiedIfCurrent(pollId, ifNoneMatch);
+        if (unchanged != null) return unchanged;
+
+        PollResponse poll = pollManager.getPollById(pollId);
         if (poll == null) {
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
         }
-        return  ResponseEntity.ok(poll); // OK = 200
+        // The ETag of the version the body was loaded at (a stale cached body carries its own, older version)
+        String eTag = eTag(poll.version());
+        if (matches(ifNoneMatch, eTag)) return notModified(eTag);
+        return ok(eTag).body(poll); // OK = 200
     }
 
     /**
@@ -120,11 +198,11 @@ public class PollController {
      */
     @Operation(summary = "Update poll privacy status", description = "Update whether a poll is public or private")
     @PutMapping("/{pollId}/privacy")
-    public ResponseEntity<Poll> updatePollPrivacy(@PathVariable UUID pollId,
-                                                  @RequestParam boolean isPublic,
-                                                  @RequestParam UUID userId) {
+    public ResponseEntity<PollResponse> updatePollPrivacy(@PathVariable UUID pollId,
+                                                          @RequestParam boolean isPublic,
+                                                          @RequestParam UUID userId) {
 
-        Poll updatedPoll = pollManager.updatePollPrivacy(pollId, isPublic, userId); // Add userId here
+        PollResponse updatedPoll = pollManager.updatePollPrivacy(pollId, isPublic, userId); // Add userId here
         if (updatedPoll == null) {
             return ResponseEntity.notFound().build();
         }
@@ -139,7 +217,7 @@ public class PollController {
      */
     @Operation(summary = "Delete a poll", description = "Deletes a poll by its ID")
     @DeleteMapping("/{pollId}")
-    public ResponseEntity<Poll> deletePoll(@PathVariable UUID pollId) {
+    public ResponseEntity<Void> deletePoll(@PathVariable UUID pollId) {
         Poll poll = pollManager.deletePollById(pollId);
         if (poll == null) {
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
@@ -156,12 +234,12 @@ public class PollController {
      */
     @Operation(summary = "Add an option", description = "Add an option to a poll by ID")
     @PostMapping("/{pollId}/options")
-    public ResponseEntity<VoteOption> addOption(@PathVariable UUID pollId, @RequestBody VoteOption option) {
+    public ResponseEntity<OptionResponse> addOption(@PathVariable UUID pollId, @RequestBody VoteOption option) {
         if(pollManager.getPollById(pollId) == null){
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
         }
         VoteOption created = pollManager.addOptionToPoll(pollId, option);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created); // CREATED = 201
+        return ResponseEntity.status(HttpStatus.CREATED).body(OptionResponse.of(created)); // CREATED = 201
     }
 
     /**
@@ -173,8 +251,8 @@ public class PollController {
      */
     @Operation(summary = "Get an option by id", description = "Get a option by its ID")
     @GetMapping("/{pollId}/options/{optionId}")
-    public ResponseEntity<VoteOption> getOptionById(@PathVariable UUID pollId, @PathVariable UUID optionId) {
-        VoteOption voteOption = pollManager.getOptionById(optionId);
+    public ResponseEntity<OptionResponse> getOptionById(@PathVariable UUID pollId, @PathVariable UUID optionId) {
+        OptionResponse voteOption = pollManager.getOptionById(optionId);
         if (voteOption == null) {
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
         }
@@ -190,7 +268,7 @@ public class PollController {
      */
     @Operation(summary = "Delete a vote option", description = "Deletes a vote option by its ID")
     @DeleteMapping("/{pollId}/options/{optionId}")
-    public ResponseEntity<VoteOption> deleteOption(@PathVariable UUID pollId, @PathVariable UUID optionId) {
+    public ResponseEntity<Void> deleteOption(@PathVariable UUID pollId, @PathVariable UUID optionId) {
         VoteOption voteOption = pollManager.deleteOptionById(optionId);
         if (voteOption == null) {
             return ResponseEntity.notFound().build();
@@ -200,33 +278,135 @@ public class PollController {
 
     /**
      * Retrieves all vote options for a poll.
+     * Supports conditional requests with the poll ETag, like {@link #getPollById}.
      *
-     * @param pollId the UUID of the poll
-     * @return list of vote options or 404 if poll does not exist
+     * @param pollId      the UUID of the poll
+     * @param ifNoneMatch the ETag(s) the client already has, if any
+     * @return list of vote options, 304 if unchanged, or 404 if poll does not exist
      */
     @Operation(summary = "Get all options", description = "Get all options of a poll by its ID")
     @GetMapping("/{pollId}/options")
-    public ResponseEntity<List<VoteOption>> getAllOptions (@PathVariable UUID pollId) {
-        if (pollManager.getPollById(pollId)==null){
+    public ResponseEntity<List<OptionResponse>> getAllOptions (@PathVariable UUID pollId,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ResponseEntity<List<OptionResponse>> unchanged = notModifiedIfCurrent(pollId, ifNoneMatch);
+        if (unchanged != null) return unchanged;
+
+        // The options of the cached poll: no query of its own
+        PollResponse poll = pollManager.getPollById(pollId);
+        if (poll == null) {
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
         }
-        return ResponseEntity.ok(pollManager.getAllOptionsByPoll(pollId)); // OK = 200
+        String eTag = eTag(poll.version());
+        if (matches(ifNoneMatch, eTag)) return notModified(eTag);
+        return ok(eTag).body(poll.options()); // OK = 200
     }
 
     /**
      * Retrieves vote count results for each option in a poll.
+     * The ETag is a SHA-256 digest of the counts themselves rather than the poll version,
+     * because the in-memory tally of this node may lag votes taken on other nodes by one
+     * checkpoint: the version alone could pin clients to counts that were not up to date yet.
      *
-     * @param pollId the UUID of the poll
-     * @return a map of optionId to vote count, or 404 if poll not found
+     * @param pollId      the UUID of the poll
+     * @param ifNoneMatch the ETag(s) the client already has, if any
+     * @return a map of optionId to vote count, 304 if unchanged, or 404 if poll not found
      */
     @Operation(summary = "Get vote counts per option", description = "Returns vote counts for each option in a poll")
     @GetMapping("/{pollId}/results")
-    public ResponseEntity<Map<UUID, Long>> getPollResults(@PathVariable UUID pollId) {
-        Poll poll = pollManager.getPollById(pollId);
-        if (poll == null) return ResponseEntity.notFound().build();
-
+    public ResponseEntity<Map<UUID, Long>> getPollResults(@PathVariable UUID pollId,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Served from the in-memory tally: no poll lookup needed, null means the poll does not exist
         Map<UUID, Long> results = pollManager.countVotesForPoll(pollId);
+        if (results == null) return ResponseEntity.notFound().build();
+
+        String eTag = digestETag(results);
+        if (matches(ifNoneMatch, eTag)) return notModified(eTag);
+
+        return ok(eTag).body(results);
+    }
+
+    /**
+     * Retrieves the detailed results of a poll: vote count, caption and presentation
+     * order of every option, so clients do not need a second call to the options endpoint.
+     *
+     * @param pollId the UUID of the poll
+     * @return the poll results ordered by presentation order, or 404 if poll not found
+     */
+    @Operation(summary = "Get detailed poll results", description = "Returns vote counts with caption and order for each option in a poll")
+    @GetMapping("/{pollId}/results/detailed")
+    public ResponseEntity<PollResults> getDetailedPollResults(@PathVariable UUID pollId) {
+        PollResults results = pollManager.getPollResults(pollId);
+        if (results == null) return ResponseEntity.notFound().build();
+
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * Streams the live results of a poll as Server-Sent Events. The current results are sent
+     * right away as a {@code results} event, followed by a new one whenever votes change them
+     * (at most one per poll and stream interval).
+     *
+     * @param pollId the UUID of the poll
+     * @return the event stream, or 404 if poll not found
+     */
+    @Operation(summary = "Stream live poll results", description = "Pushes the detailed poll results as Server-Sent Events whenever they change")
+    @GetMapping(value = "/{pollId}/results/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPollResults(@PathVariable UUID pollId) {
+        SseEmitter emitter = resultsStreamService.subscribe(pollId);
+        if (emitter == null) return ResponseEntity.notFound().build();
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    // Strong ETag of the responses of a poll, built from a version (null without one)
+    private static String eTag(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    // 304 if If-None-Match holds the current version of the poll, read from Redis only; null to load the poll.
+    // A poll has a version only while it exists, so the match also proves the poll was not deleted
+    private <T> ResponseEntity<T> notModifiedIfCurrent(UUID pollId, String ifNoneMatch) {
+        if (ifNoneMatch == null) return null;
+        String eTag = eTag(pollManager.getPollVersion(pollId));
+        return eTag != null && matches(ifNoneMatch, eTag) ? notModified(eTag) : null;
+    }
+
+    // Strong ETag of a results map: SHA-256 of its entries in option id order, truncated to 128 bits
+    private static String digestETag(Map<UUID, Long> results) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        new TreeMap<>(results).forEach((optionId, count) ->
+                digest.update((optionId + "=" + count + ";").getBytes(StandardCharsets.UTF_8)));
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    // 200 with the given ETag, if any
+    private static ResponseEntity.BodyBuilder ok(String eTag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        return eTag == null ? builder : builder.eTag(eTag);
+    }
+
+    // True if the If-None-Match header lists the given ETag (weak tags compare equal, as RFC 9110 allows for GET),
+    // or is "*", which matches any current representation; only called for a resource that exists
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) return false;
+        if (ifNoneMatch.trim().equals("*")) return true;
+        if (eTag == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(eTag)) return true;
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache());
+        return (eTag == null ? builder : builder.eTag(eTag)).build();
+    }
+
 }
@@ -0,0 +1,40 @@
+package com.DAT250Project.PollApp.controllers;
+
+import com.DAT250Project.PollApp.live.ResultsDeltaPublisher;
+import com.DAT250Project.PollApp.live.ResultsSnapshot;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.UUID;
+
+/**
+ * STOMP controller for live poll results.
+ * Clients subscribe to {@code /topic/polls/{pollId}/results} for deltas and to
+ * {@code /app/polls/{pollId}/results} once to get the snapshot the deltas apply to.
+ */
+@Controller
+public class ResultsSocketController {
+
+    private final ResultsDeltaPublisher resultsDeltaPublisher;
+
+    /**
+     * Constructs the controller.
+     *
+     * @param resultsDeltaPublisher the publisher holding the per-poll result versions
+     */
+    public ResultsSocketController(ResultsDeltaPublisher resultsDeltaPublisher) {
+        this.resultsDeltaPublisher = resultsDeltaPublisher;
+    }
+
+    /**
+     * Replies to the subscriber with the current results of a poll and their version.
+     *
+     * @param pollId the UUID of the poll
+     * @return the snapshot, or nothing if the poll does not exist
+     */
+    @SubscribeMapping("/polls/{pollId}/results")
+    public ResultsSnapshot subscribeToResults(@DestinationVariable UUID pollId) {
+        return resultsDeltaPublisher.snapshot(pollId);
+    }
+}
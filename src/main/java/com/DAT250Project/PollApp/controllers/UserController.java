@@ -1,8 +1,9 @@
 package com.DAT250Project.PollApp.controllers;
 
 import com.DAT250Project.PollApp.PollManager;
-import com.DAT250Project.PollApp.model.Poll;
-import com.DAT250Project.PollApp.model.Vote;
+import com.DAT250Project.PollApp.dto.PollResponse;
+import com.DAT250Project.PollApp.dto.UserResponse;
+import com.DAT250Project.PollApp.dto.VoteResponse;
 import com.DAT250Project.PollApp.model.User;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -37,20 +38,26 @@ public class UserController {
      */
     @Operation(summary = "Create a new user", description = "Creates a new user account and returns the created user")
     @PostMapping
-    public ResponseEntity<User> createUser (@RequestBody User user) {
+    public ResponseEntity<UserResponse> createUser (@RequestBody User user) {
         User createdUser = pollManager.createUser(user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);  // CREATED = 201
+        return ResponseEntity.status(HttpStatus.CREATED).body(UserResponse.of(createdUser));  // CREATED = 201
     }
 
     /**
-     * Retrieves all registered users.
+     * Retrieves one page of the registered users.
      *
-     * @return list of users with HTTP 200 status
+     * @param cursor the cursor of the previous page, absent for the first page
+     * @param limit  the page size, capped at the maximum page size
+     * @return a page of users with HTTP 200 status, or 400 for invalid parameters
      */
-    @Operation(summary = "Get all users", description = "Returns a list of all registered users")
+    @Operation(summary = "Get all users", description = "Returns a page of registered users; the next page's cursor is in the X-Next-Cursor header")
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(pollManager.getAllUsers()); // OK = 200
+    public ResponseEntity<List<UserResponse>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        if (!CursorPages.isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return CursorPages.ok(pollManager.getUsersPage(cursor, limit)); // OK = 200
     }
 
     /**
@@ -61,8 +68,8 @@ public class UserController {
      */
     @Operation(summary = "Get a user", description = "Get a specific user by its id")
     @GetMapping("/{userId}")
-    public ResponseEntity<User> getUserById(@PathVariable UUID userId) {
-        User user = pollManager.getUserById(userId);
+    public ResponseEntity<UserResponse> getUserById(@PathVariable UUID userId) {
+        UserResponse user = pollManager.getUserById(userId);
         if (user == null) {
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
         }
@@ -77,7 +84,7 @@ public class UserController {
      */
     @Operation(summary = "Delete a user", description = "Delete a user by its id")
     @DeleteMapping("/{userId}")
-    public ResponseEntity<User> deleteUser(@PathVariable UUID userId) {
+    public ResponseEntity<Void> deleteUser(@PathVariable UUID userId) {
         User user = pollManager.deleteUserById(userId);
         if (user == null) {
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
@@ -93,7 +100,7 @@ public class UserController {
      */
     @Operation(summary = "Get user's polls", description = "Return a list of the polls created by the user")
     @GetMapping("/{userId}/polls")
-    public ResponseEntity<List<Poll>> getUserPolls(@PathVariable UUID userId) {
+    public ResponseEntity<List<PollResponse>> getUserPolls(@PathVariable UUID userId) {
         if (pollManager.getUserById(userId) == null){
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
         }
@@ -101,18 +108,25 @@ public class UserController {
     }
 
     /**
-     * Retrieves all votes made by a specific user.
+     * Retrieves one page of the votes made by a specific user, newest first.
      *
      * @param userId UUID of the user
-     * @return a list of votes or 404 if the user does not exist
+     * @param cursor the cursor of the previous page, absent for the first page
+     * @param limit  the page size, capped at the maximum page size
+     * @return a page of votes, 404 if the user does not exist, or 400 for invalid parameters
      */
-    @Operation(summary = "Get user's votes", description = "Return a list of the votes that the user has made")
+    @Operation(summary = "Get user's votes", description = "Return a page of the votes that the user has made")
     @GetMapping("/{userId}/votes")
-    public ResponseEntity<List<Vote>> getUserVotes(@PathVariable UUID userId) {
+    public ResponseEntity<List<VoteResponse>> getUserVotes(@PathVariable UUID userId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit) {
         if (pollManager.getUserById(userId) == null){
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
         }
-        return ResponseEntity.ok(pollManager.getVotesByUser(userId));  //NO CONTENT = 204
+        if (!CursorPages.isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return CursorPages.ok(pollManager.getVotesByUser(userId, cursor, limit));
     }
 
 }
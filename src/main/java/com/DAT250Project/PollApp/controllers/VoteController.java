@@ -1,10 +1,10 @@
 package com.DAT250Project.PollApp.controllers;
 
 import com.DAT250Project.PollApp.PollManager;
-import com.DAT250Project.PollApp.model.Poll;
-import com.DAT250Project.PollApp.model.User;
+import com.DAT250Project.PollApp.dto.OptionResponse;
+import com.DAT250Project.PollApp.dto.PollResponse;
+import com.DAT250Project.PollApp.dto.VoteResponse;
 import com.DAT250Project.PollApp.model.Vote;
-import com.DAT250Project.PollApp.model.VoteOption;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
@@ -35,11 +35,11 @@ public class VoteController {
      *
      * @param pollId      the UUID of the poll
      * @param voteRequest the vote request containing voterId and optionId
-     * @return the created vote with HTTP 201, or 400/409 depending on validation failures
+     * @return the created vote with HTTP 201 (202 in write-behind mode), or 400/409 depending on validation failures
      */
     @Operation(summary = "Create a new vote", description = "Creates a new vote and returns it")
     @PostMapping("/polls/{pollId}/votes")
-    public ResponseEntity<Vote> createVote(@PathVariable UUID pollId, @RequestBody Vote voteRequest) {
+    public ResponseEntity<VoteResponse> createVote(@PathVariable UUID pollId, @RequestBody Vote voteRequest) {
         //check if the relationship is correct
         if (!pollManager.optionBelongsToPoll(voteRequest.getOptionId(), pollId)) {
             return ResponseEntity.badRequest().build(); // invalid relationship  BAD REQUEST = 400
@@ -49,7 +49,10 @@ public class VoteController {
         if (createdVote == null) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build(); // 409 USER ALREADY VOTED
         }
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdVote);
+        if (pollManager.isWriteBehindVoting()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(VoteResponse.of(createdVote)); // 202 QUEUED, WRITTEN IN THE NEXT BATCH
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(VoteResponse.of(createdVote));
     }
 
     /**
@@ -61,23 +64,29 @@ public class VoteController {
      */
     @Operation(summary = "Update a vote", description = "Change the actual vote in the poll by another vote")
     @PutMapping("/polls/{pollId}/votes")
-    public ResponseEntity<Vote> updateVote(@PathVariable UUID pollId, @RequestBody Vote voteRequest) {
+    public ResponseEntity<VoteResponse> updateVote(@PathVariable UUID pollId, @RequestBody Vote voteRequest) {
         Vote updatedVote = pollManager.updateVote(pollId, voteRequest.getVoterId(), voteRequest.getOptionId());
         if (updatedVote == null) {
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
         }
-        return ResponseEntity.ok(updatedVote);  //OK = 200
+        return ResponseEntity.ok(VoteResponse.of(updatedVote));  //OK = 200
     }
 
     /**
-     * Retrieves all votes in the system.
+     * Retrieves one page of all votes in the system, newest first.
      *
-     * @return list of all votes
+     * @param cursor the cursor of the previous page, absent for the first page
+     * @param limit  the page size, capped at the maximum page size
+     * @return a page of votes, or 400 for invalid parameters
      */
-    @Operation(summary = "Get all votes", description = "Returns a list of all votes")
+    @Operation(summary = "Get all votes", description = "Returns a page of votes; the next page's cursor is in the X-Next-Cursor header")
     @GetMapping("/votes")
-    public ResponseEntity<List<Vote>> getAllVotes() {
-        return ResponseEntity.ok(pollManager.getAllVotes()); // OK = 200
+    public ResponseEntity<List<VoteResponse>> getAllVotes(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        if (!CursorPages.isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return CursorPages.ok(pollManager.getAllVotes(cursor, limit)); // OK = 200
     }
 
     /**
@@ -88,8 +97,8 @@ public class VoteController {
      */
     @Operation(summary = "Get the votes of an option", description = "Returns a list of the votes made in a specific option")
     @GetMapping("/{optionId}/votes")
-    public ResponseEntity<List<Vote>> getVotesByOptionId(@PathVariable UUID optionId) {
-        VoteOption option = pollManager.getOptionById(optionId);
+    public ResponseEntity<List<VoteResponse>> getVotesByOptionId(@PathVariable UUID optionId) {
+        OptionResponse option = pollManager.getOptionById(optionId);
         if (option == null) {
             return ResponseEntity.notFound().build();
         }
@@ -97,19 +106,26 @@ public class VoteController {
     }
 
     /**
-     * Retrieves all votes for a specific poll.
+     * Retrieves one page of the votes for a specific poll, newest first.
      *
      * @param pollId UUID of the poll
-     * @return list of votes or 404 if poll not found
+     * @param cursor the cursor of the previous page, absent for the first page
+     * @param limit  the page size, capped at the maximum page size
+     * @return a page of votes, 404 if poll not found, or 400 for invalid parameters
      */
-    @Operation(summary = "Get the votes of a poll", description = "Returns a list of the votes made in a specific poll")
+    @Operation(summary = "Get the votes of a poll", description = "Returns a page of the votes made in a specific poll")
     @GetMapping("/polls/{pollId}/votes")
-    public  ResponseEntity<List<Vote>> getVotesByPollId(@PathVariable UUID pollId) {
-        Poll poll = pollManager.getPollById(pollId);
+    public  ResponseEntity<List<VoteResponse>> getVotesByPollId(@PathVariable UUID pollId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit) {
+        PollResponse poll = pollManager.getPollById(pollId);
         if (poll == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(pollManager.getVotesByPoll(pollId));
+        if (!CursorPages.isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return CursorPages.ok(pollManager.getVotesByPoll(pollId, cursor, limit));
     }
 
     /**
@@ -120,8 +136,8 @@ public class VoteController {
      */
     @Operation(summary = "Get a vote", description = "Get a specific vote by its id")
     @GetMapping("/votes/{voteId}")
-    public ResponseEntity<Vote> getVoteById(@PathVariable UUID voteId) {
-        Vote vote = pollManager.getVoteById(voteId);
+    public ResponseEntity<VoteResponse> getVoteById(@PathVariable UUID voteId) {
+        VoteResponse vote = pollManager.getVoteById(voteId);
         if (vote == null) {
             return ResponseEntity.notFound().build();
         }
@@ -136,7 +152,7 @@ public class VoteController {
      */
     @Operation(summary = "Remove a vote", description = "Deletes a user's vote for a given vote option")
     @DeleteMapping("/votes/{voteId}")
-    public ResponseEntity<Vote> deleteVote(@PathVariable UUID voteId) {
+    public ResponseEntity<Void> deleteVote(@PathVariable UUID voteId) {
         Vote vote = pollManager.deleteVoteById(voteId);
         if (vote == null) {
             return ResponseEntity.notFound().build();  //NOT FOUND = 404
@@ -0,0 +1,12 @@
+package com.DAT250Project.PollApp.dto;
+
+import java.util.List;
+
+/**
+ * One page of a listing paged with opaque cursors.
+ *
+ * @param items      the items of the page, in listing order
+ * @param nextCursor cursor of the next page, or null on the last page
+ * @param <T>        the item type
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {}
@@ -0,0 +1,26 @@
+package com.DAT250Project.PollApp.dto;
+
+import com.DAT250Project.PollApp.model.VoteOption;
+
+import java.util.UUID;
+
+/**
+ * A vote option as returned by the API and cached.
+ * <p>
+ * It carries no vote count, so a vote never changes a cached poll: counts are read from
+ * GET /polls/{pollId}/results and the live tallies.
+ * </p>
+ *
+ * @param id                ID of the option
+ * @param caption           text of the option
+ * @param presentationOrder order of appearance in the poll
+ * @param pollId            ID of the poll
+ */
+public record OptionResponse(UUID id, String caption, int presentationOrder, UUID pollId) {
+
+    /** Returns the response of an option entity; reads its poll id only, never its votes. */
+    public static OptionResponse of(VoteOption option) {
+        return new OptionResponse(option.getId(), option.getCaption(), option.getPresentationOrder(),
+                option.getPoll() != null ? option.getPoll().getId() : null);
+    }
+}
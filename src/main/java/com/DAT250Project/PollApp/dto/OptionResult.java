@@ -0,0 +1,13 @@
+package com.DAT250Project.PollApp.dto;
+
+import java.util.UUID;
+
+/**
+ * Vote tally of a single option, as returned by the poll results endpoints.
+ *
+ * @param optionId          ID of the vote option
+ * @param caption           text of the vote option
+ * @param presentationOrder order of appearance in the poll
+ * @param voteCount         number of votes cast for the option
+ */
+public record OptionResult(UUID optionId, String caption, int presentationOrder, long voteCount) {}
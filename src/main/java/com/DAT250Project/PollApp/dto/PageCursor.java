@@ -0,0 +1,52 @@
+package com.DAT250Project.PollApp.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a page in a keyset (seek) listing: its sort timestamp, if the
+ * listing is ordered by one, and its ID, which breaks ties. The next page starts right after it,
+ * so it costs the same however deep the client pages.
+ *
+ * @param at the sort timestamp of the row, or null for listings ordered by ID only
+ * @param id the ID of the row
+ */
+public record PageCursor(Instant at, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /** Returns the cursor of a row of a listing ordered by ID only. */
+    public static PageCursor of(UUID id) {
+        return new PageCursor(null, id);
+    }
+
+    /** Returns the opaque form sent to clients (base64url of "timestamp|id"). */
+    public String encode() {
+        String raw = (at == null ? "" : at.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor sent by a client.
+     *
+     * @param cursor the opaque cursor
+     * @return the position it stands for
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            Instant at = separator == 0 ? null : Instant.parse(raw.substring(0, separator));
+            return new PageCursor(at, UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
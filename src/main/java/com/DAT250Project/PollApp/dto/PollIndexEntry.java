@@ -0,0 +1,22 @@
+package com.DAT250Project.PollApp.dto;
+
+import com.DAT250Project.PollApp.model.Poll;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The fields of a poll that place it in the Redis poll indexes.
+ *
+ * @param pollId      ID of the poll
+ * @param publishedAt when the poll was published
+ * @param validUntil  when the poll closes
+ * @param publicPoll  whether the poll is public
+ */
+public record PollIndexEntry(UUID pollId, Instant publishedAt, Instant validUntil, boolean publicPoll) {
+
+    /** Returns the index entry of a poll entity. */
+    public static PollIndexEntry of(Poll poll) {
+        return new PollIndexEntry(poll.getId(), poll.getPublishedAt(), poll.getValidUntil(), poll.isPublicPoll());
+    }
+}
@@ -0,0 +1,35 @@
+package com.DAT250Project.PollApp.dto;
+
+import com.DAT250Project.PollApp.model.Poll;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A poll with its options as returned by the API, cached and published.
+ *
+ * @param id          ID of the poll
+ * @param question    the question asked
+ * @param publishedAt when the poll was published
+ * @param validUntil  when the poll closes
+ * @param publicPoll  whether the poll is public
+ * @param createdBy   the user who created the poll
+ * @param options     the options in presentation order
+ * @param version     the poll version read before this response was loaded (its ETag), or null if unknown
+ */
+public record PollResponse(UUID id, String question, Instant publishedAt, Instant validUntil, boolean publicPoll,
+                           UserSummary createdBy, List<OptionResponse> options, Long version) {
+
+    /** Returns the response of a poll entity; reads its creator and options, so call it where they can be loaded. */
+    public static PollResponse of(Poll poll) {
+        return new PollResponse(poll.getId(), poll.getQuestion(), poll.getPublishedAt(), poll.getValidUntil(),
+                poll.isPublicPoll(), UserSummary.of(poll.getCreatedBy()),
+                poll.getOptions().stream().map(OptionResponse::of).toList(), null);
+    }
+
+    /** Returns this response stamped with the poll version it was loaded at. */
+    public PollResponse withVersion(Long version) {
+        return new PollResponse(id, question, publishedAt, validUntil, publicPoll, createdBy, options, version);
+    }
+}
@@ -0,0 +1,13 @@
+package com.DAT250Project.PollApp.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Results of a poll: one tally per option, ordered by presentation order.
+ *
+ * @param pollId     ID of the poll
+ * @param totalVotes sum of the votes of all options
+ * @param options    per-option tallies including caption and presentation order
+ */
+public record PollResults(UUID pollId, long totalVotes, List<OptionResult> options) {}
@@ -0,0 +1,13 @@
+package com.DAT250Project.PollApp.dto;
+
+/**
+ * Whether a poll is still open for votes, as used to filter listings.
+ */
+public enum PollStatus {
+
+    /** The poll closes in the future ({@code validUntil} after now). */
+    ACTIVE,
+
+    /** The poll is closed ({@code validUntil} now or earlier). */
+    EXPIRED
+}
@@ -0,0 +1,19 @@
+package com.DAT250Project.PollApp.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A poll as shown in listings: read with one query, without loading its options or creator.
+ *
+ * @param id              ID of the poll
+ * @param question        the question asked
+ * @param publishedAt     when the poll was published
+ * @param validUntil      when the poll closes
+ * @param publicPoll      whether the poll is public
+ * @param creatorId       ID of the user who created the poll
+ * @param creatorUsername username of the user who created the poll
+ * @param optionCount     number of options of the poll
+ */
+public record PollSummary(UUID id, String question, Instant publishedAt, Instant validUntil, boolean publicPoll,
+                          UUID creatorId, String creatorUsername, int optionCount) {}
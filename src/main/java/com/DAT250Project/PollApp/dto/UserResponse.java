@@ -0,0 +1,21 @@
+package com.DAT250Project.PollApp.dto;
+
+import com.DAT250Project.PollApp.model.User;
+
+import java.util.UUID;
+
+/**
+ * A user as returned by the API, cached and published: never the password or the user's polls and votes.
+ *
+ * @param id       ID of the user
+ * @param username the username
+ * @param email    the email address
+ * @param role     the security role
+ */
+public record UserResponse(UUID id, String username, String email, String role) {
+
+    /** Returns the response of a user entity. */
+    public static UserResponse of(User user) {
+        return new UserResponse(user.getId(), user.getUsername(), user.getEmail(), user.getRole());
+    }
+}
@@ -0,0 +1,19 @@
+package com.DAT250Project.PollApp.dto;
+
+import com.DAT250Project.PollApp.model.User;
+
+import java.util.UUID;
+
+/**
+ * The public part of a user, shown as the creator of a poll.
+ *
+ * @param id       ID of the user
+ * @param username the username
+ */
+public record UserSummary(UUID id, String username) {
+
+    /** Returns the summary of a user entity, or null for no user. */
+    public static UserSummary of(User user) {
+        return user == null ? null : new UserSummary(user.getId(), user.getUsername());
+    }
+}
@@ -0,0 +1,20 @@
+package com.DAT250Project.PollApp.dto;
+
+import java.util.UUID;
+
+/**
+ * Difference between the stored vote counter of an option and the number of vote rows
+ * that actually reference it, as found by the vote count reconciliation.
+ *
+ * @param optionId    ID of the vote option
+ * @param pollId      ID of the poll the option belongs to
+ * @param storedCount value of the denormalized vote_count column
+ * @param actualCount number of rows in votes for the option
+ */
+public record VoteCountDrift(UUID optionId, UUID pollId, long storedCount, long actualCount) {
+
+    /** Returns the correction to apply to the stored counter. */
+    public long delta() {
+        return actualCount - storedCount;
+    }
+}
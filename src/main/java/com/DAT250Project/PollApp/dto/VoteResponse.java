@@ -0,0 +1,24 @@
+package com.DAT250Project.PollApp.dto;
+
+import com.DAT250Project.PollApp.model.Vote;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A vote as returned by the API, cached and published. References the voter, option and poll
+ * by ID only, so mapping a vote never loads them.
+ *
+ * @param id          ID of the vote
+ * @param publishedAt when the vote was cast
+ * @param voterId     ID of the voter, or null for an anonymous vote
+ * @param optionId    ID of the selected option
+ * @param pollId      ID of the poll
+ */
+public record VoteResponse(UUID id, Instant publishedAt, UUID voterId, UUID optionId, UUID pollId) {
+
+    /** Returns the response of a vote entity. */
+    public static VoteResponse of(Vote vote) {
+        return new VoteResponse(vote.getId(), vote.getPublishedAt(), vote.getVoterId(), vote.getOptionId(), vote.getPollId());
+    }
+}
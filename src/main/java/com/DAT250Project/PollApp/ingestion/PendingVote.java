@@ -0,0 +1,15 @@
+package com.DAT250Project.PollApp.ingestion;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A validated vote that has been acknowledged but not yet written to the database.
+ *
+ * @param voteId      ID assigned to the vote before it is queued
+ * @param pollId      ID of the poll
+ * @param optionId    ID of the chosen option
+ * @param voterId     ID of the voter, or null for an anonymous vote
+ * @param publishedAt when the vote was cast
+ */
+public record PendingVote(UUID voteId, UUID pollId, UUID optionId, UUID voterId, Instant publishedAt) {}
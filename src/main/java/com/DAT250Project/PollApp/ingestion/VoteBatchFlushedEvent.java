@@ -0,0 +1,11 @@
+package com.DAT250Project.PollApp.ingestion;
+
+import java.util.List;
+
+/**
+ * Published by {@link VoteIngestionService} after a batch of queued votes has been committed,
+ * so that event publication and cache invalidation can run once per batch.
+ *
+ * @param votes the votes that were written
+ */
+public record VoteBatchFlushedEvent(List<PendingVote> votes) {}
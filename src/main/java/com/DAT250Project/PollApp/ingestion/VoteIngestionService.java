@@ -0,0 +1,344 @@
+package com.DAT250Project.PollApp.ingestion;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Optional write-behind pipeline for votes.
+ * <p>
+ * When {@code app.votes.ingestion.mode=write-behind}, validated votes are put on a bounded
+ * in-memory queue and acknowledged immediately. A background writer drains the queue and
+ * writes the votes in batches (JDBC batch insert plus one counter update per option), then
+ * publishes a {@link VoteBatchFlushedEvent} so messaging and cache invalidation run once per batch.
+ * </p>
+ * <p>
+ * Durability: every vote is appended to a {@link VoteJournal} ({@code app.votes.ingestion.journal-dir})
+ * before it is acknowledged, and stays there until its batch committed. Votes still queued when the
+ * process stops or crashes, and votes whose write failed, are replayed from the journal on the next start.
+ * </p>
+ * <p>
+ * Fallbacks: if the queue is full (or the writer is stopping) {@link #submit} rejects the vote and the
+ * caller writes the vote synchronously; if a batch fails it is retried row by row so one bad vote
+ * cannot drop the others. A vote the database rejects for good (its option was deleted meanwhile) is
+ * dropped at that point; a vote that fails for any other reason stays in the journal for the replay.
+ * A voter/poll pair stays reserved from the duplicate check until its vote is committed, so a second
+ * vote is refused before it is acknowledged instead of being dropped by the unique index.
+ * On shutdown the queue is drained before the application stops.
+ * </p>
+ */
+@Service
+public class VoteIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteIngestionService.class);
+
+    private static final String INSERT_VOTE_SQL =
+            "INSERT INTO votes (id, published_at, voter_id, option_id, poll_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INCREMENT_COUNT_SQL =
+            "UPDATE vote_options SET vote_count = vote_count + ? WHERE id = ?";
+    private static final String VOTE_EXISTS_SQL = "SELECT COUNT(*) FROM votes WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Ingestion mode: "sync" (default) or "write-behind". */
+    @Value("${app.votes.ingestion.mode:sync}")
+    private String mode;
+
+    /** Maximum number of votes waiting to be written. */
+    @Value("${app.votes.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    /** Maximum number of votes written per batch. */
+    @Value("${app.votes.ingestion.batch-size:500}")
+    private int batchSize;
+
+    /** Maximum time a vote waits in the queue before a (possibly partial) batch is flushed. */
+    @Value("${app.votes.ingestion.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    /** Directory of the vote journal (see {@link VoteJournal}). */
+    @Value("${app.votes.ingestion.journal-dir:./data/vote-journal}")
+    private String journalDir;
+
+    /** Whether each journaled vote is forced to the disk before it is acknowledged (survives an OS crash too). */
+    @Value("${app.votes.ingestion.journal-fsync:true}")
+    private boolean journalFsync;
+
+    /** Size after which the journal starts a new segment. */
+    @Value("${app.votes.ingestion.journal-segment-bytes:4194304}")
+    private long journalSegmentBytes;
+
+    private BlockingQueue<PendingVote> queue;
+    private VoteJournal journal;
+
+    /** Voter/poll pairs reserved from the duplicate check until their vote is committed. */
+    private final Set<String> pendingVoters = ConcurrentHashMap.newKeySet();
+
+    private Thread writer;
+    private volatile boolean running;
+
+    public VoteIngestionService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Starts the background writer when write-behind mode is enabled. */
+    @PostConstruct
+    void start() {
+        if (!isWriteBehind()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        journal = new VoteJournal(Path.of(journalDir), journalSegmentBytes, journalFsync);
+        running = true;
+        writer = new Thread(this::runWriter, "vote-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Write-behind vote ingestion enabled (capacity={}, batchSize={}, flushIntervalMs={})",
+                queueCapacity, batchSize, flushIntervalMs);
+    }
+
+    /** Stops the writer and flushes every vote still in the queue. */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // No interrupt: the writer notices the flag within one flush interval,
+        // and interrupting a thread inside JDBC can close the H2 file channel
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        drainAndFlush();
+        journal.close();
+    }
+
+    /**
+     * Replays the votes the previous run journaled but did not write: they go through the queue
+     * like new votes (once the event listeners of the batches are registered), are journaled again,
+     * and the old journal segments are deleted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void replayJournal() throws InterruptedException {
+        if (journal == null) {
+            return;
+        }
+        int replayed = 0;
+        for (PendingVote vote : journal.recover()) {
+            if (jdbcTemplate.queryForObject(VOTE_EXISTS_SQL, Long.class, vote.voteId()) > 0) {
+                continue; // written before the previous run stopped
+            }
+            if (vote.voterId() != null) {
+                pendingVoters.add(pendingKey(vote.voterId(), vote.pollId()));
+            }
+            journal.append(vote);
+            queue.put(vote);
+            replayed++;
+        }
+        journal.deleteRecovered();
+        if (replayed > 0) {
+            logger.info("Replayed {} journaled vote(s) that were not written", replayed);
+        }
+    }
+
+    /**
+     * Returns true if votes should be queued instead of written on the request thread.
+     */
+    public boolean isWriteBehind() {
+        return "write-behind".equalsIgnoreCase(mode);
+    }
+
+    /** Outcome of {@link #submit(PendingVote, BooleanSupplier)}. */
+    public enum SubmitResult {
+        /** The vote is queued and will be written by the background writer. */
+        QUEUED,
+        /** The voter already has a queued vote for this poll. */
+        DUPLICATE,
+        /** The queue is full or stopping; the caller must write the vote synchronously. */
+        REJECTED
+    }
+
+    /**
+     * Journals and queues a validated vote.
+     *
+     * @param vote         the vote to write
+     * @param alreadyVoted whether the voter has a vote for this poll in the database; called after the
+     *                     voter/poll pair is reserved, so a batch committing meanwhile cannot be missed
+     * @return whether the vote was queued, is a duplicate, or must be written synchronously
+     */
+    public SubmitResult submit(PendingVote vote, BooleanSupplier alreadyVoted) {
+        if (!running || queue.remainingCapacity() == 0) {
+            return SubmitResult.REJECTED;
+        }
+        if (vote.voterId() != null) {
+            if (!pendingVoters.add(pendingKey(vote.voterId(), vote.pollId()))) {
+                return SubmitResult.DUPLICATE; // a vote of this voter for this poll is queued
+            }
+            if (alreadyVoted.getAsBoolean()) {
+                releasePending(List.of(vote));
+                return SubmitResult.DUPLICATE;
+            }
+        }
+        try {
+            journal.append(vote);
+        } catch (UncheckedIOException e) {
+            logger.error("Could not journal vote {}, writing it synchronously", vote.voteId(), e);
+            releasePending(List.of(vote));
+            return SubmitResult.REJECTED;
+        }
+        try {
+            // Capacity was checked above: only a burst of concurrent submits waits here
+            if (queue.offer(vote, flushIntervalMs * 10, TimeUnit.MILLISECONDS)) {
+                return SubmitResult.QUEUED;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.completed(List.of(vote));
+        releasePending(List.of(vote));
+        return SubmitResult.REJECTED;
+    }
+
+    // Background loop: wait for a first vote, then collect up to batchSize votes or until the interval elapses
+    private void runWriter() {
+        List<PendingVote> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingVote first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingVote next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                flush(batch);
+            }
+        }
+    }
+
+    // Flushes whatever is left in the queue (used on shutdown)
+    private void drainAndFlush() {
+        List<PendingVote> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    // Writes a batch in one transaction; on failure retries row by row. Always clears the batch.
+    // Votes that are written or rejected for good leave the journal; the others stay in it, still reserved.
+    private void flush(List<PendingVote> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<PendingVote> written = new ArrayList<>(batch);
+        List<PendingVote> done = new ArrayList<>(batch);
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeBatch(written));
+        } catch (RuntimeException e) {
+            logger.warn("Batch insert of {} votes failed, retrying one by one: {}", written.size(), e.getMessage());
+            written.clear();
+            done.clear();
+            for (PendingVote vote : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writeBatch(List.of(vote)));
+                    written.add(vote);
+                    done.add(vote);
+                } catch (DataIntegrityViolationException rowError) {
+                    logger.error("Dropping vote {} for option {}, rejected by the database: {}",
+                            vote.voteId(), vote.optionId(), rowError.getMessage());
+                    done.add(vote);
+                } catch (RuntimeException rowError) {
+                    logger.error("Could not write vote {} for option {}, kept in the journal for replay: {}",
+                            vote.voteId(), vote.optionId(), rowError.getMessage());
+                }
+            }
+        }
+        journal.completed(done);
+        releasePending(done);
+        batch.clear();
+
+        if (!written.isEmpty()) {
+            try {
+                eventPublisher.publishEvent(new VoteBatchFlushedEvent(written));
+            } catch (RuntimeException e) {
+                logger.error("Post-flush handling of {} votes failed", written.size(), e);
+            }
+        }
+    }
+
+    // One JDBC batch for the vote rows, one for the counters (aggregated per option)
+    private void writeBatch(List<PendingVote> votes) {
+        jdbcTemplate.batchUpdate(INSERT_VOTE_SQL, votes, votes.size(), (ps, vote) -> {
+            ps.setObject(1, vote.voteId());
+            ps.setTimestamp(2, Timestamp.from(vote.publishedAt()));
+            if (vote.voterId() != null) {
+                ps.setObject(3, vote.voterId());
+            } else {
+                ps.setNull(3, Types.OTHER);
+            }
+            ps.setObject(4, vote.optionId());
+            ps.setObject(5, vote.pollId());
+        });
+
+        Map<UUID, Long> votesPerOption = new LinkedHashMap<>();
+        for (PendingVote vote : votes) {
+            votesPerOption.merge(vote.optionId(), 1L, Long::sum);
+        }
+        List<Map.Entry<UUID, Long>> increments = new ArrayList<>(votesPerOption.entrySet());
+        jdbcTemplate.batchUpdate(INCREMENT_COUNT_SQL, increments, increments.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setObject(2, entry.getKey());
+        });
+    }
+
+    private void releasePending(List<PendingVote> votes) {
+        for (PendingVote vote : votes) {
+            if (vote.voterId() != null) {
+                pendingVoters.remove(pendingKey(vote.voterId(), vote.pollId()));
+            }
+        }
+    }
+
+    private static String pendingKey(UUID voterId, UUID pollId) {
+        return voterId + ":" + pollId;
+    }
+}
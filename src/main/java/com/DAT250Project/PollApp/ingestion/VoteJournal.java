@@ -0,0 +1,259 @@
+package com.DAT250Project.PollApp.ingestion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Append-only file journal of the votes acknowledged by write-behind ingestion.
+ * <p>
+ * Every vote is appended before it is acknowledged and marked completed once its batch committed
+ * (or the database rejected it for good). The journal is split into segments
+ * ({@code votes-{n}.journal}, one line per vote); a segment is deleted when it is no longer the
+ * current one and all its votes are completed. Votes that were still queued when the process stopped,
+ * or whose write failed, stay in their segment and are returned by {@link #recover()} on the next start.
+ * </p>
+ * <p>
+ * The directory is locked while the journal is open, so two nodes never share it.
+ * </p>
+ */
+public class VoteJournal implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteJournal.class);
+
+    private static final String SEGMENT_PREFIX = "votes-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String NO_VOTER = "-";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    // Segments left by the previous run, read by recover()
+    private final List<Path> previousSegments;
+
+    private long currentNumber;
+    private FileChannel current;
+    // Segment number -> votes appended to it and not completed yet
+    private final Map<Long, Integer> outstanding = new HashMap<>();
+    // Vote id -> number of the segment it was appended to, until completed
+    private final Map<UUID, Long> segmentOfVote = new HashMap<>();
+
+    /**
+     * Opens the journal in a directory, creating it if needed, and starts a new segment.
+     *
+     * @param directory    the journal directory
+     * @param segmentBytes size after which the next append starts a new segment
+     * @param fsync        whether every append is forced to the disk before it returns
+     */
+    public VoteJournal(Path directory, long segmentBytes, boolean fsync) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = tryLock(lockChannel);
+            if (lock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("Vote journal " + directory + " is already in use");
+            }
+            previousSegments = segments();
+            long last = previousSegments.isEmpty() ? 0 : numberOf(previousSegments.get(previousSegments.size() - 1));
+            openSegment(last + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open vote journal " + directory, e);
+        }
+    }
+
+    /**
+     * Appends a vote; it stays in the journal until {@link #completed} is called for it.
+     *
+     * @param vote the acknowledged vote
+     * @throws UncheckedIOException if the vote could not be written
+     */
+    public synchronized void append(PendingVote vote) {
+        try {
+            if (current.size() >= segmentBytes) {
+                FileChannel full = current;
+                long fullNumber = currentNumber;
+                openSegment(currentNumber + 1);
+                full.close();
+                deleteIfDone(fullNumber);
+            }
+            ByteBuffer line = ByteBuffer.wrap(format(vote).getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                current.write(line);
+            }
+            if (fsync) {
+                current.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal vote " + vote.voteId(), e);
+        }
+        segmentOfVote.put(vote.voteId(), currentNumber);
+        outstanding.merge(currentNumber, 1, Integer::sum);
+    }
+
+    /**
+     * Marks votes as done (written, or rejected for good): their segment can go once all its votes are.
+     *
+     * @param votes the completed votes
+     */
+    public synchronized void completed(Collection<PendingVote> votes) {
+        Set<Long> touched = new HashSet<>();
+        for (PendingVote vote : votes) {
+            Long number = segmentOfVote.remove(vote.voteId());
+            if (number != null && outstanding.merge(number, -1, Integer::sum) <= 0) {
+                outstanding.remove(number);
+                touched.add(number);
+            }
+        }
+        for (long number : touched) {
+            deleteIfDone(number);
+        }
+    }
+
+    /**
+     * Reads the votes of the segments left by the previous run: votes that were queued or failed,
+     * and possibly votes that were written after their segment's last check (callers skip those).
+     *
+     * @return the votes in journal order
+     */
+    public List<PendingVote> recover() {
+        List<PendingVote> votes = new ArrayList<>();
+        for (Path segment : previousSegments) {
+            try (Stream<String> lines = Files.lines(segment, StandardCharsets.UTF_8)) {
+                lines.forEach(line -> {
+                    PendingVote vote = parse(line);
+                    if (vote != null) {
+                        votes.add(vote);
+                    } else if (!line.isBlank()) {
+                        logger.warn("Skipping unreadable line in {}: {}", segment, line);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read vote journal segment " + segment, e);
+            }
+        }
+        return votes;
+    }
+
+    /**
+     * Deletes the segments of the previous run, once their votes were written or journaled again.
+     */
+    public void deleteRecovered() {
+        for (Path segment : previousSegments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                logger.warn("Could not delete recovered vote journal segment {}", segment, e);
+            }
+        }
+        previousSegments.clear();
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            current.close();
+            deleteIfDone(currentNumber);
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            logger.warn("Could not close vote journal {}", directory, e);
+        }
+    }
+
+    // Null if another process, or another journal of this process, holds the lock
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        current = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentNumber = number;
+    }
+
+    // Deletes a segment that is not written any more and whose votes are all completed
+    private void deleteIfDone(long number) {
+        if ((number == currentNumber && current.isOpen()) || outstanding.containsKey(number)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(segmentPath(number));
+        } catch (IOException e) {
+            logger.warn("Could not delete vote journal segment {}", number, e);
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    // Segments in the directory, oldest first
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(file -> numberOf(file) > 0)
+                    .sorted(Comparator.comparingLong(VoteJournal::numberOf))
+                    .toList());
+        }
+    }
+
+    private static long numberOf(Path segment) {
+        String name = segment.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // "voteId pollId optionId voterId|- epochSecond nanos\n"
+    static String format(PendingVote vote) {
+        return vote.voteId() + " " + vote.pollId() + " " + vote.optionId() + " "
+                + (vote.voterId() == null ? NO_VOTER : vote.voterId()) + " "
+                + vote.publishedAt().getEpochSecond() + " " + vote.publishedAt().getNano() + "\n";
+    }
+
+    // Parses one line; null for a line that is not a complete vote (e.g. cut by a crash)
+    static PendingVote parse(String line) {
+        String[] fields = line.trim().split(" ");
+        if (fields.length != 6) {
+            return null;
+        }
+        try {
+            return new PendingVote(UUID.fromString(fields[0]), UUID.fromString(fields[1]), UUID.fromString(fields[2]),
+                    NO_VOTER.equals(fields[3]) ? null : UUID.fromString(fields[3]),
+                    Instant.ofEpochSecond(Long.parseLong(fields[4]), Long.parseLong(fields[5])));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return null;
+        }
+    }
+}
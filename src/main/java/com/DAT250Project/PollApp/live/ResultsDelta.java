@@ -0,0 +1,15 @@
+package com.DAT250Project.PollApp.live;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Count changes of a poll since the previous frame. A client applies it only if it holds
+ * version {@code version - 1}; otherwise it waits for (or requests) a snapshot.
+ *
+ * @param pollId  the poll ID
+ * @param version the version of the results after applying the changes
+ * @param changes optionId → change of its vote count (options that did not change are left out)
+ */
+public record ResultsDelta(UUID pollId, long version, Map<UUID, Long> changes) implements ResultsFrame {
+}
@@ -0,0 +1,283 @@
+package com.DAT250Project.PollApp.live;
+
+import com.DAT250Project.PollApp.dto.OptionResult;
+import com.DAT250Project.PollApp.dto.PollResults;
+import com.DAT250Project.PollApp.tally.PollResultsChangedEvent;
+import com.DAT250Project.PollApp.tally.TallyEngine;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans live poll results out to WebSocket (STOMP) subscribers as versioned deltas.
+ * <p>
+ * Vote changes of watched polls are accumulated per option; a scheduled flush
+ * ({@code app.results.ws.interval-ms}) sends them as one {@link ResultsDelta} per poll,
+ * carrying only the options whose count changed. A periodic {@link ResultsSnapshot}
+ * ({@code app.results.ws.snapshot-interval-ms}) lets clients that missed a frame resynchronize,
+ * and a snapshot replaces the deltas when the poll's options change.
+ * </p>
+ */
+@Service
+public class ResultsDeltaPublisher {
+
+    private static final String TOPIC_PREFIX = "/topic/polls/";
+    private static final String TOPIC_SUFFIX = "/results";
+
+    private final TallyEngine tallyEngine;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // Watched polls only: polls nobody subscribed to accumulate nothing
+    private final ConcurrentHashMap<UUID, PollChannel> channels = new ConcurrentHashMap<>();
+    // "sessionId/subscriptionId" -> pollId, to release the channel on unsubscribe or disconnect
+    private final ConcurrentHashMap<String, UUID> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the publisher.
+     *
+     * @param tallyEngine       source of the live results used for snapshots
+     * @param messagingTemplate template used to send frames to the broker
+     */
+    public ResultsDeltaPublisher(TallyEngine tallyEngine, SimpMessagingTemplate messagingTemplate) {
+        this.tallyEngine = tallyEngine;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Returns the destination clients subscribe to for the results of a poll.
+     *
+     * @param pollId the poll ID
+     * @return the topic destination
+     */
+    public static String topic(UUID pollId) {
+        return TOPIC_PREFIX + pollId + TOPIC_SUFFIX;
+    }
+
+    /**
+     * Returns the current results of a poll at the version of the last frame sent,
+     * so that the next delta applies on top of it.
+     *
+     * @param pollId the poll ID
+     * @return the snapshot, or null if the poll does not exist
+     */
+    public ResultsSnapshot snapshot(UUID pollId) {
+        PollChannel channel = channels.get(pollId);
+        if (channel == null) {
+            PollResults results = tallyEngine.getResults(pollId);
+            return results == null ? null : new ResultsSnapshot(pollId, 0, results);
+        }
+        return channel.snapshot(tallyEngine);
+    }
+
+    /**
+     * Accumulates a change of a watched poll until the next flush.
+     *
+     * @param event the change event from the tally engine
+     */
+    @EventListener
+    public void onPollResultsChanged(PollResultsChangedEvent event) {
+        PollChannel channel = channels.get(event.pollId());
+        if (channel != null) {
+            channel.record(event);
+        }
+    }
+
+    /**
+     * Sends the pending changes of every watched poll as one frame per poll.
+     * Watched polls keep their tally loaded across checkpoints; a tally that was dropped anyway
+     * (e.g. options changed) missed votes, so it is reloaded and sent as a snapshot.
+     */
+    @Scheduled(fixedDelayString = "${app.results.ws.interval-ms:500}")
+    public void flush() {
+        for (PollChannel channel : channels.values()) {
+            if (!tallyEngine.retain(channel.pollId)) {
+                channel.requestReload();
+            }
+            ResultsFrame frame = channel.drain(tallyEngine);
+            if (frame != null) {
+                messagingTemplate.convertAndSend(topic(channel.pollId), frame);
+            }
+        }
+    }
+
+    /**
+     * Sends a full snapshot of every watched poll, so clients that missed a delta resynchronize.
+     */
+    @Scheduled(initialDelayString = "${app.results.ws.snapshot-interval-ms:30000}",
+            fixedDelayString = "${app.results.ws.snapshot-interval-ms:30000}")
+    public void publishSnapshots() {
+        for (PollChannel channel : channels.values()) {
+            ResultsSnapshot snapshot = channel.snapshot(tallyEngine);
+            if (snapshot != null) {
+                messagingTemplate.convertAndSend(topic(channel.pollId), snapshot);
+            }
+        }
+    }
+
+    /**
+     * Starts accumulating changes for a poll when a client subscribes to its results topic.
+     *
+     * @param event the STOMP subscribe event
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        UUID pollId = pollIdOf(accessor.getDestination());
+        if (pollId == null) {
+            return;
+        }
+        if (subscriptions.putIfAbsent(subscriptionKey(accessor), pollId) == null) {
+            channels.compute(pollId, (id, channel) -> {
+                PollChannel watched = channel != null ? channel : new PollChannel(id);
+                watched.watchers.incrementAndGet();
+                return watched;
+            });
+        }
+    }
+
+    /**
+     * Releases the poll of a subscription that was cancelled.
+     *
+     * @param event the STOMP unsubscribe event
+     */
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        UUID pollId = subscriptions.remove(subscriptionKey(accessor));
+        if (pollId != null) {
+            release(pollId);
+        }
+    }
+
+    /**
+     * Releases all subscriptions of a closed WebSocket session.
+     *
+     * @param event the session disconnect event
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String prefix = event.getSessionId() + "/";
+        subscriptions.forEach((key, pollId) -> {
+            if (key.startsWith(prefix) && subscriptions.remove(key, pollId)) {
+                release(pollId);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of WebSocket subscriptions to the results of a poll.
+     *
+     * @param pollId the poll ID
+     * @return the number of watchers
+     */
+    public int watcherCount(UUID pollId) {
+        PollChannel channel = channels.get(pollId);
+        return channel == null ? 0 : channel.watchers.get();
+    }
+
+    private void release(UUID pollId) {
+        channels.computeIfPresent(pollId, (id, channel) ->
+                channel.watchers.decrementAndGet() <= 0 ? null : channel);
+    }
+
+    private static String subscriptionKey(StompHeaderAccessor accessor) {
+        return accessor.getSessionId() + "/" + accessor.getSubscriptionId();
+    }
+
+    // Extracts the poll ID from "/topic/polls/{pollId}/results"; null for any other destination
+    private static UUID pollIdOf(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX) || !destination.endsWith(TOPIC_SUFFIX)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(destination.substring(TOPIC_PREFIX.length(),
+                    destination.length() - TOPIC_SUFFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Delta state of one watched poll: the version of the last frame sent and
+     * the changes accumulated since.
+     */
+    static final class PollChannel {
+
+        private final UUID pollId;
+        private final AtomicInteger watchers = new AtomicInteger();
+
+        private long version;
+        private Map<UUID, Long> pending = new HashMap<>();
+        private boolean reload;
+
+        PollChannel(UUID pollId) {
+            this.pollId = pollId;
+        }
+
+        synchronized void record(PollResultsChangedEvent event) {
+            if (event.isReload()) {
+                reload = true;
+            } else {
+                pending.merge(event.optionId(), event.delta(), Long::sum);
+            }
+        }
+
+        synchronized void requestReload() {
+            reload = true;
+        }
+
+        // Takes the next frame: the pending changes, a snapshot if the options changed, or null if nothing changed
+        synchronized ResultsFrame drain(TallyEngine tallyEngine) {
+            if (reload) {
+                reload = false;
+                pending = new HashMap<>();
+                PollResults results = tallyEngine.getResults(pollId);
+                if (results == null) {
+                    return null; // poll deleted
+                }
+                return new ResultsSnapshot(pollId, ++version, results);
+            }
+
+            pending.values().removeIf(delta -> delta == 0);
+            if (pending.isEmpty()) {
+                return null;
+            }
+            Map<UUID, Long> changes = pending;
+            pending = new HashMap<>();
+            return new ResultsDelta(pollId, ++version, changes);
+        }
+
+        // Results at the current version: the live tally minus the changes that were not sent yet
+        synchronized ResultsSnapshot snapshot(TallyEngine tallyEngine) {
+            PollResults results = tallyEngine.getResults(pollId);
+            if (results == null) {
+                return null;
+            }
+            if (pending.isEmpty()) {
+                return new ResultsSnapshot(pollId, version, results);
+            }
+
+            List<OptionResult> options = new ArrayList<>(results.options().size());
+            long total = 0;
+            for (OptionResult option : results.options()) {
+                long count = option.voteCount() - pending.getOrDefault(option.optionId(), 0L);
+                total += count;
+                options.add(new OptionResult(option.optionId(), option.caption(), option.presentationOrder(), count));
+            }
+            return new ResultsSnapshot(pollId, version, new PollResults(pollId, total, options));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.DAT250Project.PollApp.live;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.util.UUID;
+
+/**
+ * A message on the WebSocket results topic {@code /topic/polls/{pollId}/results}.
+ * The {@code type} property tells clients whether to apply it as a delta or replace their state.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ResultsDelta.class, name = "delta"),
+        @JsonSubTypes.Type(value = ResultsSnapshot.class, name = "snapshot")
+})
+public sealed interface ResultsFrame permits ResultsDelta, ResultsSnapshot {
+
+    /** @return the poll the frame belongs to */
+    UUID pollId();
+
+    /** @return the version of the results after this frame */
+    long version();
+}
@@ -0,0 +1,16 @@
+package com.DAT250Project.PollApp.live;
+
+import com.DAT250Project.PollApp.dto.PollResults;
+
+import java.util.UUID;
+
+/**
+ * Full results of a poll at a given version, sent on subscription and periodically
+ * so clients that missed a delta can resynchronize.
+ *
+ * @param pollId  the poll ID
+ * @param version the version of the results
+ * @param results the detailed results
+ */
+public record ResultsSnapshot(UUID pollId, long version, PollResults results) implements ResultsFrame {
+}
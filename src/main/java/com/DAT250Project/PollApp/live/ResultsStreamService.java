@@ -0,0 +1,289 @@
+package com.DAT250Project.PollApp.live;
+
+import com.DAT250Project.PollApp.dto.PollResults;
+import com.DAT250Project.PollApp.tally.PollResultsChangedEvent;
+import com.DAT250Project.PollApp.tally.TallyEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes live poll results to clients over Server-Sent Events.
+ * <p>
+ * Vote changes only mark a poll as dirty; a scheduled flush then sends at most one
+ * {@code results} frame per poll and interval ({@code app.results.stream.interval-ms}),
+ * however many votes arrived in between. Each frame is serialized once and the same
+ * bytes are written to every subscriber of the poll.
+ * </p>
+ * <p>
+ * The writes run on a small bounded pool ({@code app.results.stream.send-threads}), never on the
+ * scheduler thread, so one slow client cannot hold up the others. Each subscriber keeps at most one
+ * frame waiting: a newer frame replaces it, so a slow client skips to the latest results instead of
+ * building a backlog. A client whose write has been blocked for longer than
+ * {@code app.results.stream.send-timeout-ms} has fallen behind and its stream is completed
+ * (EventSource clients reconnect and get the current results).
+ * </p>
+ */
+@Service
+public class ResultsStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultsStreamService.class);
+
+    private final TallyEngine tallyEngine;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<UUID> dirtyPolls = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+
+    @Value("${app.results.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.results.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    /**
+     * Constructs the stream service.
+     *
+     * @param tallyEngine  source of the live results
+     * @param objectMapper mapper used to serialize each frame once
+     * @param sendThreads  size of the pool writing the frames to the clients
+     */
+    public ResultsStreamService(TallyEngine tallyEngine, ObjectMapper objectMapper,
+                                @Value("${app.results.stream.send-threads:4}") int sendThreads) {
+        this.tallyEngine = tallyEngine;
+        this.objectMapper = objectMapper;
+        // At most one queued task per subscriber; past the bound new frames are refused and the stream ended
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(10_000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "results-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Opens a results stream for a poll. The current results are sent immediately,
+     * later frames only when the results change.
+     *
+     * @param pollId the poll ID
+     * @return the emitter for the response, or null if the poll does not exist
+     */
+    public SseEmitter subscribe(UUID pollId) {
+        PollResults results = tallyEngine.getResults(pollId);
+        if (results == null) {
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(pollId, emitter);
+        // Added inside compute() so a concurrent unsubscribe cannot drop the set we are adding to
+        subscribers.compute(pollId, (id, pollSubscribers) -> {
+            Set<Subscriber> set = pollSubscribers != null ? pollSubscribers : new CopyOnWriteArraySet<>();
+            set.add(subscriber);
+            return set;
+        });
+
+        Runnable remove = () -> unsubscribe(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        try {
+            emitter.send(frame(results));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Marks a poll as changed if anyone is watching it; the next flush sends the new results.
+     *
+     * @param event the change event from the tally engine
+     */
+    @EventListener
+    public void onPollResultsChanged(PollResultsChangedEvent event) {
+        if (subscribers.containsKey(event.pollId())) {
+            dirtyPolls.add(event.pollId());
+        }
+    }
+
+    /**
+     * Hands one frame per changed poll to each of its subscribers, and ends the streams
+     * of the clients that fell behind.
+     */
+    @Scheduled(fixedDelayString = "${app.results.stream.interval-ms:1000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Set<Subscriber> pollSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : pollSubscribers) {
+                if (subscriber.isBehind(now)) {
+                    logger.debug("Ending the results stream of poll {}: a write is blocked for over {} ms",
+                            subscriber.pollId, sendTimeoutMs);
+                    subscriber.close();
+                }
+            }
+        }
+        for (UUID pollId : subscribers.keySet()) {
+            // Watched polls stay loaded; a tally that was dropped (e.g. options changed) is resent
+            if (!tallyEngine.retain(pollId)) {
+                dirtyPolls.add(pollId);
+            }
+        }
+
+        Iterator<UUID> dirty = dirtyPolls.iterator();
+        while (dirty.hasNext()) {
+            UUID pollId = dirty.next();
+            dirty.remove();
+
+            Set<Subscriber> pollSubscribers = subscribers.get(pollId);
+            if (pollSubscribers == null || pollSubscribers.isEmpty()) {
+                continue;
+            }
+
+            PollResults results = tallyEngine.getResults(pollId);
+            if (results == null) {
+                // The poll was deleted: end its streams
+                subscribers.remove(pollId);
+                pollSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+                continue;
+            }
+
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            try {
+                frame = frame(results);
+            } catch (JsonProcessingException e) {
+                logger.error("Could not serialize results of poll {}", pollId, e);
+                continue;
+            }
+            for (Subscriber subscriber : pollSubscribers) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of open streams for a poll.
+     *
+     * @param pollId the poll ID
+     * @return the number of subscribers
+     */
+    public int subscriberCount(UUID pollId) {
+        Set<Subscriber> pollSubscribers = subscribers.get(pollId);
+        return pollSubscribers == null ? 0 : pollSubscribers.size();
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.pollId, (id, pollSubscribers) -> {
+            pollSubscribers.remove(subscriber);
+            return pollSubscribers.isEmpty() ? null : pollSubscribers;
+        });
+    }
+
+    // Serializes the results once into a complete SSE event that can be written to any number of emitters
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(PollResults results) throws JsonProcessingException {
+        return SseEmitter.event()
+                .name("results")
+                .data(objectMapper.writeValueAsString(results), MediaType.TEXT_PLAIN)
+                .build();
+    }
+
+    /**
+     * One open stream. It holds at most one frame waiting to be sent (the latest) and has
+     * at most one task on the pool, which sends frames until none is waiting.
+     */
+    private final class Subscriber {
+
+        private final UUID pollId;
+        private final SseEmitter emitter;
+        private final AtomicReference<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // When the write in progress started (epoch ms), 0 if none
+        private volatile long sendStartedAt;
+
+        Subscriber(UUID pollId, SseEmitter emitter) {
+            this.pollId = pollId;
+            this.emitter = emitter;
+        }
+
+        // Replaces the waiting frame, if any, and makes sure a task will send it
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            pending.set(frame);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return; // the running task picks the frame up
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Pool saturated or stopping: end the stream rather than queue without bound
+                close();
+            }
+        }
+
+        private void drain() {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while ((frame = pending.getAndSet(null)) != null) {
+                sendStartedAt = System.currentTimeMillis();
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; its completion callback removes it
+                    emitter.completeWithError(e);
+                    return; // stays scheduled: nothing is sent to this stream again
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+            scheduled.set(false);
+            // A frame offered after the last getAndSet, while this task was still scheduled
+            if (pending.get() != null) {
+                schedule();
+            }
+        }
+
+        boolean isBehind(long now) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && now - startedAt > sendTimeoutMs;
+        }
+
+        void close() {
+            unsubscribe(this);
+            emitter.complete();
+        }
+    }
+}
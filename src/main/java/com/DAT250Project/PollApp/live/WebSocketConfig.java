@@ -0,0 +1,34 @@
+package com.DAT250Project.PollApp.live;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * STOMP over WebSocket configuration for live poll results.
+ * <p>
+ * Clients connect to {@code /ws}, subscribe to {@code /topic/polls/{pollId}/results} for
+ * delta and periodic snapshot frames, and can subscribe once to {@code /app/polls/{pollId}/results}
+ * to get the current snapshot right away.
+ * </p>
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // Same origin as the REST API CORS rules (React frontend)
+        registry.addEndpoint("/ws").setAllowedOrigins("http://localhost:3000");
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+        // Deltas must reach each client in the order they were published
+        registry.setPreservePublishOrder(true);
+    }
+}
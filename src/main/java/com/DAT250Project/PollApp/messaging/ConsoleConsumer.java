@@ -1,8 +1,8 @@
 package com.DAT250Project.PollApp.messaging;
 
-import com.DAT250Project.PollApp.model.Poll;
-import com.DAT250Project.PollApp.model.User;
-import com.DAT250Project.PollApp.model.Vote;
+import com.DAT250Project.PollApp.dto.PollResponse;
+import com.DAT250Project.PollApp.dto.UserResponse;
+import com.DAT250Project.PollApp.dto.VoteResponse;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
@@ -11,17 +11,17 @@ import org.springframework.stereotype.Component;
 public class ConsoleConsumer {
 
     @RabbitListener(queues = RabbitMQConfig.USER_CREATED_QUEUE)
-    public void handleUserCreated(User user) {
-        System.out.println("(Console) User created event → " + user.getEmail());
+    public void handleUserCreated(UserResponse user) {
+        System.out.println("(Console) User created event → " + user.email());
     }
 
     @RabbitListener(queues = RabbitMQConfig.POLL_CREATED_QUEUE)
-    public void handlePollCreated(Poll poll) {
-        System.out.println("(Console) Poll created event → " + poll.getQuestion());
+    public void handlePollCreated(PollResponse poll) {
+        System.out.println("(Console) Poll created event → " + poll.question());
     }
 
     @RabbitListener(queues = RabbitMQConfig.VOTE_CREATED_QUEUE)
-    public void handleVoteCreated(Vote vote) {
-        System.out.println("(Console) Vote created event → VoteID=" + vote.getId());
+    public void handleVoteCreated(VoteResponse vote) {
+        System.out.println("(Console) Vote created event → VoteID=" + vote.id());
     }
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package com.DAT250Project.PollApp.messaging;
 
-import com.DAT250Project.PollApp.model.Poll;
+import com.DAT250Project.PollApp.dto.PollResponse;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
@@ -16,12 +16,12 @@ public class PollPublisher {
         this.rabbitTemplate = rabbitTemplate;
     }
 
-    public void publishPollCreated(Poll poll) {
+    public void publishPollCreated(PollResponse poll) {
         rabbitTemplate.convertAndSend(
                 RabbitMQConfig.EXCHANGE,
                 RabbitMQConfig.POLL_CREATED_KEY,
                 poll
         );
-        logger.info("Sent PollCreated event: " + poll.getId());
+        logger.info("Sent PollCreated event: " + poll.id());
     }
 }
\ No newline at end of file
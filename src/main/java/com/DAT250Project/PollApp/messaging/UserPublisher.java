@@ -1,6 +1,6 @@
 package com.DAT250Project.PollApp.messaging;
 
-import com.DAT250Project.PollApp.model.User;
+import com.DAT250Project.PollApp.dto.UserResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -16,12 +16,12 @@ public class UserPublisher {
         this.rabbitTemplate = rabbitTemplate;
     }
 
-    public void publishUserCreated(User user) {
+    public void publishUserCreated(UserResponse user) {
         rabbitTemplate.convertAndSend(
                 RabbitMQConfig.EXCHANGE,
                 RabbitMQConfig.USER_CREATED_KEY,
                 user
         );
-        logger.info("Sent UserCreated event: " + user.getId());
+        logger.info("Sent UserCreated event: " + user.id());
     }
 }
\ No newline at end of file
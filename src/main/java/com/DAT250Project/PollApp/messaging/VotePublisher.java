@@ -1,6 +1,6 @@
 package com.DAT250Project.PollApp.messaging;
 
-import com.DAT250Project.PollApp.model.Vote;
+import com.DAT250Project.PollApp.dto.VoteResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -16,12 +16,12 @@ public class VotePublisher {
         this.rabbitTemplate = rabbitTemplate;
     }
 
-    public void publishVote(Vote vote) {
+    public void publishVote(VoteResponse vote) {
         rabbitTemplate.convertAndSend(
                 RabbitMQConfig.EXCHANGE,
                 RabbitMQConfig.VOTE_CREATED_KEY,
                 vote
         );
-        logger.info("sent VoteCreated event: " + vote.getId());
+        logger.info("sent VoteCreated event: " + vote.id());
     }
 }
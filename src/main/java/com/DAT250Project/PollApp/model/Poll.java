@@ -1,5 +1,6 @@
 package com.DAT250Project.PollApp.model;
 
+import com.DAT250Project.PollApp.CacheConfig.PollIndexListener;
 import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
 
@@ -9,9 +10,31 @@ import java.util.*;
 
 /**
  * Represents a poll containing a question, visibility settings, creator, and vote options.
+ * <p>
+ * The creator and the options are loaded lazily; code that needs them asks for one of the
+ * named entity graphs below, so each use case reads the poll with exactly the joins it needs.
+ * Listings read the {@link com.DAT250Project.PollApp.dto.PollSummary} projection instead.
+ * </p>
  */
 @Entity
-@Table(name = "polls")
+// The poll as shown to voters: creator and options in one query
+@NamedEntityGraph(name = "Poll.detail", attributeNodes = {
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("options")
+})
+// The poll with its owner only, for ownership checks and deletes
+@NamedEntityGraph(name = "Poll.owner", attributeNodes = @NamedAttributeNode("createdBy"))
+@Table(name = "polls", indexes = {
+        // Public polls filtered on active/expired (GET /polls/public?status=...)
+        @Index(name = "idx_polls_public_valid_until", columnList = "public_poll, valid_until"),
+        // Public polls newest first (findByPublicPollTrue, keyset pages of GET /polls/public)
+        @Index(name = "idx_polls_public_published", columnList = "public_poll, published_at DESC, id DESC"),
+        // Polls of a creator, private ones newest first (findByCreatedById, GET /polls/private/{userId})
+        @Index(name = "idx_polls_creator_public_published", columnList = "created_by, public_poll, published_at DESC, id DESC"),
+        // Open or closed polls regardless of visibility (findByValidUntilAfter/Before)
+        @Index(name = "idx_polls_valid_until", columnList = "valid_until")
+})
+@EntityListeners(PollIndexListener.class)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Poll {
 
@@ -36,13 +59,13 @@ public class Poll {
     private boolean publicPoll = true;
 
     /** User who created the poll. */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     @JsonIgnoreProperties({"createdPolls", "votes"})
     private User createdBy;
 
     /** List of vote options associated with the poll. */
-    @OneToMany(mappedBy = "poll", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "poll", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @OrderBy("presentationOrder ASC")
     @JsonIgnoreProperties("poll")
     private List<VoteOption> options = new ArrayList<>();
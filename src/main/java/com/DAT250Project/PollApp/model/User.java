@@ -2,6 +2,7 @@ package com.DAT250Project.PollApp.model;
 
 import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.util.*;
@@ -11,6 +12,8 @@ import java.util.*;
  */
 @Entity
 @Table(name = "users")
+// Lazy references to users (voters of a poll's votes, creators of a page of polls) are loaded together
+@BatchSize(size = 100)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
 
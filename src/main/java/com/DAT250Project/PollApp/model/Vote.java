@@ -11,7 +11,19 @@ import java.util.*;
  * Represents a vote cast by a user (or anonymous) on a poll option.
  */
 @Entity
-@Table(name = "votes")
+@Table(name = "votes",
+        // One vote per user per poll; anonymous votes have a NULL voter_id and are never equal
+        uniqueConstraints = @UniqueConstraint(name = "uk_votes_voter_poll", columnNames = {"voter_id", "poll_id"}),
+        indexes = {
+                // Votes of an option (findByOption_Id, countByOption_Id)
+                @Index(name = "idx_votes_option", columnList = "option_id"),
+                // Votes of a poll newest first (keyset pages of GET /polls/{pollId}/votes)
+                @Index(name = "idx_votes_poll_published", columnList = "poll_id, published_at DESC, id DESC"),
+                // Votes of a user newest first (findByVoter_Id*, GET /users/{userId}/votes)
+                @Index(name = "idx_votes_voter_published", columnList = "voter_id, published_at DESC, id DESC"),
+                // All votes newest first (GET /votes)
+                @Index(name = "idx_votes_published", columnList = "published_at DESC, id DESC")
+        })
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Vote {
 
@@ -35,6 +47,15 @@ public class Vote {
     @JsonIgnoreProperties({"votes", "poll"})
     private VoteOption option;
 
+    /**
+     * Poll of the selected option, denormalized from the option so that the
+     * one-vote-per-poll rule can be a unique index (nullable only for rows created before the column).
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "poll_id")
+    @JsonIgnore
+    private Poll poll;
+
     /** Default constructor. */
     public Vote() {}
 
@@ -47,6 +68,7 @@ public class Vote {
     public Vote(User voter, VoteOption option){
         this.voter = voter;
         this.option = option;
+        this.poll = option != null ? option.getPoll() : null;
         this.publishedAt = Instant.now();
     }
 
@@ -95,4 +117,21 @@ public class Vote {
         if (this.option == null) this.option = new VoteOption();
         this.option.setId(optionId);
     }
+
+    /** Sets the poll. */
+    public void setPoll(Poll poll) { this.poll = poll; }
+
+    /** Returns the poll. */
+    public Poll getPoll() { return poll; }
+
+    /** Returns the poll ID. */
+    public UUID getPollId() {
+        return poll != null ? poll.getId() : null;
+    }
+
+    /** Sets the poll ID safely. */
+    public void setPollId(UUID pollId) {
+        if (this.poll == null) this.poll = new Poll();
+        this.poll.setId(pollId);
+    }
 }
@@ -2,6 +2,7 @@ package com.DAT250Project.PollApp.model;
 
 import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.util.*;
@@ -10,7 +11,10 @@ import java.util.*;
  * Represents a selectable option within a poll.
  */
 @Entity
-@Table(name = "vote_options")
+@Table(name = "vote_options", indexes = {
+        // Options of a poll in presentation order (results, existsByIdAndPoll_Id)
+        @Index(name = "idx_vote_options_poll", columnList = "poll_id, presentation_order")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class VoteOption {
 
@@ -33,8 +37,19 @@ public class VoteOption {
     @JsonIgnoreProperties("options")
     private Poll poll;
 
-    /** Votes that selected this option. */
+    /**
+     * Number of votes cast for this option (denormalized, read-only in JSON).
+     * Never written by entity saves; only changed by the atomic UPDATE queries
+     * in VoteOptionRepository so concurrent votes cannot overwrite each other.
+     */
+    @Column(name = "vote_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0 not null")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long voteCount;
+
+    /** Votes that selected this option (loaded for all the options of a poll at once). */
     @OneToMany(mappedBy = "option", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JsonIgnoreProperties("option")
     private Set<Vote> votes = new LinkedHashSet<>();
 
@@ -74,6 +89,12 @@ public class VoteOption {
     /** Returns the poll. */
     public Poll getPoll() { return poll; }
 
+    /** Sets the vote counter (in memory only, the column is maintained by the repository). */
+    public void setVoteCount(long voteCount) { this.voteCount = voteCount; }
+
+    /** Returns the number of votes cast for this option. */
+    public long getVoteCount() { return voteCount; }
+
     /** Sets the set of votes. */
     public void setVotes(Set<Vote> votes) { this.votes = votes; }
 
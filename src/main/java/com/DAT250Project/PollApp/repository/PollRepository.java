@@ -1,17 +1,30 @@
 package com.DAT250Project.PollApp.repository;
 
+import com.DAT250Project.PollApp.dto.PollIndexEntry;
+import com.DAT250Project.PollApp.dto.PollSummary;
 import com.DAT250Project.PollApp.model.Poll;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PollRepository extends JpaRepository<Poll, UUID> {
     // Find polls by creator
     List<Poll> findByCreatedById(UUID userId);
 
+    // Ids of the polls of a creator, e.g. to invalidate their caches when the creator is deleted
+    @Query("SELECT p.id FROM Poll p WHERE p.createdBy.id = :userId")
+    List<UUID> findIdsByCreatedById(@Param("userId") UUID userId);
+
     // Find active polls (not expired)
     List<Poll> findByValidUntilAfter(java.time.Instant currentTime);
 
@@ -23,4 +36,103 @@ public interface PollRepository extends JpaRepository<Poll, UUID> {
 
     // Find private polls by user id
     List<Poll> findByPublicPollFalseAndCreatedBy_Id(UUID userId);
+
+    // Poll detail (creator and options), for one poll, a page of cached polls or the polls of a user
+    @EntityGraph("Poll.detail")
+    Optional<Poll> findDetailById(UUID id);
+
+    @EntityGraph("Poll.detail")
+    List<Poll> findDetailByIdIn(Collection<UUID> ids);
+
+    @EntityGraph("Poll.detail")
+    List<Poll> findDetailByCreatedById(UUID userId);
+
+    // Poll with its creator only, to check or use the owner without loading the options
+    @EntityGraph("Poll.owner")
+    Optional<Poll> findOwnerViewById(UUID id);
+
+    // Keyset pages of public poll summaries, newest first: the first page, then the page after (publishedAt, id)
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.PollSummary(p.id, p.question, p.publishedAt, p.validUntil, p.publicPoll, c.id, c.username, SIZE(p.options))
+            FROM Poll p JOIN p.createdBy c
+            WHERE p.publicPoll = true
+            ORDER BY p.publishedAt DESC, p.id DESC
+            """)
+    List<PollSummary> findPublicPage(Limit limit);
+
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.PollSummary(p.id, p.question, p.publishedAt, p.validUntil, p.publicPoll, c.id, c.username, SIZE(p.options))
+            FROM Poll p JOIN p.createdBy c
+            WHERE p.publicPoll = true
+              AND p.publishedAt <= :publishedAt AND (p.publishedAt < :publishedAt OR p.id < :id)
+            ORDER BY p.publishedAt DESC, p.id DESC
+            """)
+    List<PollSummary> findPublicPageAfter(@Param("publishedAt") Instant publishedAt, @Param("id") UUID id, Limit limit);
+
+    // Keyset pages of the public polls still open at :now, closing soonest first
+    // (served by the (public_poll, valid_until) index, like the expired ones below).
+    // Polls without options cannot be voted on and are left out here, so every page is full
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.PollSummary(p.id, p.question, p.publishedAt, p.validUntil, p.publicPoll, c.id, c.username, SIZE(p.options))
+            FROM Poll p JOIN p.createdBy c
+            WHERE p.publicPoll = true AND p.validUntil > :now AND SIZE(p.options) > 0
+            ORDER BY p.validUntil ASC, p.id ASC
+            """)
+    List<PollSummary> findActivePublicPage(@Param("now") Instant now, Limit limit);
+
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.PollSummary(p.id, p.question, p.publishedAt, p.validUntil, p.publicPoll, c.id, c.username, SIZE(p.options))
+            FROM Poll p JOIN p.createdBy c
+            WHERE p.publicPoll = true AND p.validUntil > :now AND SIZE(p.options) > 0
+              AND p.validUntil >= :validUntil AND (p.validUntil > :validUntil OR p.id > :id)
+            ORDER BY p.validUntil ASC, p.id ASC
+            """)
+    List<PollSummary> findActivePublicPageAfter(@Param("now") Instant now, @Param("validUntil") Instant validUntil,
+                                                @Param("id") UUID id, Limit limit);
+
+    // Keyset pages of the public polls closed at :now, most recently closed first
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.PollSummary(p.id, p.question, p.publishedAt, p.validUntil, p.publicPoll, c.id, c.username, SIZE(p.options))
+            FROM Poll p JOIN p.createdBy c
+            WHERE p.publicPoll = true AND p.validUntil <= :now
+            ORDER BY p.validUntil DESC, p.id DESC
+            """)
+    List<PollSummary> findExpiredPublicPage(@Param("now") Instant now, Limit limit);
+
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.PollSummary(p.id, p.question, p.publishedAt, p.validUntil, p.publicPoll, c.id, c.username, SIZE(p.options))
+            FROM Poll p JOIN p.createdBy c
+            WHERE p.publicPoll = true AND p.validUntil <= :now
+              AND p.validUntil <= :validUntil AND (p.validUntil < :validUntil OR p.id < :id)
+            ORDER BY p.validUntil DESC, p.id DESC
+            """)
+    List<PollSummary> findExpiredPublicPageAfter(@Param("now") Instant now, @Param("validUntil") Instant validUntil,
+                                                 @Param("id") UUID id, Limit limit);
+
+    // When the next public poll closes after :now (null if none), which is when the expired listing changes
+    @Query("SELECT MIN(p.validUntil) FROM Poll p WHERE p.publicPoll = true AND p.validUntil > :now")
+    Instant findNextPublicClosing(@Param("now") Instant now);
+
+    // Keyset pages of the private polls of a user, newest first
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.PollSummary(p.id, p.question, p.publishedAt, p.validUntil, p.publicPoll, c.id, c.username, SIZE(p.options))
+            FROM Poll p JOIN p.createdBy c
+            WHERE p.publicPoll = false AND p.createdBy.id = :userId
+            ORDER BY p.publishedAt DESC, p.id DESC
+            """)
+    List<PollSummary> findPrivatePage(@Param("userId") UUID userId, Limit limit);
+
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.PollSummary(p.id, p.question, p.publishedAt, p.validUntil, p.publicPoll, c.id, c.username, SIZE(p.options))
+            FROM Poll p JOIN p.createdBy c
+            WHERE p.publicPoll = false AND p.createdBy.id = :userId
+              AND p.publishedAt <= :publishedAt AND (p.publishedAt < :publishedAt OR p.id < :id)
+            ORDER BY p.publishedAt DESC, p.id DESC
+            """)
+    List<PollSummary> findPrivatePageAfter(@Param("userId") UUID userId, @Param("publishedAt") Instant publishedAt,
+                                           @Param("id") UUID id, Limit limit);
+
+    // Read only the fields the Redis poll indexes are built from, without loading creators and options
+    @Query("SELECT new com.DAT250Project.PollApp.dto.PollIndexEntry(p.id, p.publishedAt, p.validUntil, p.publicPoll) FROM Poll p")
+    List<PollIndexEntry> findIndexEntries();
 }
\ No newline at end of file
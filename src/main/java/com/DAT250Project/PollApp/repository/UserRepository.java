@@ -1,9 +1,13 @@
 package com.DAT250Project.PollApp.repository;
 
 import com.DAT250Project.PollApp.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,4 +21,11 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Keyset pages of all users by ID: the first page, then the page after an ID
+    @Query("SELECT u FROM User u ORDER BY u.id ASC")
+    List<User> findPage(Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.id > :id ORDER BY u.id ASC")
+    List<User> findPageAfter(@Param("id") UUID id, Limit limit);
 }
@@ -1,11 +1,18 @@
 // VoteOptionRepository.java
 package com.DAT250Project.PollApp.repository;
 
+import com.DAT250Project.PollApp.dto.OptionResult;
+import com.DAT250Project.PollApp.dto.VoteCountDrift;
 import com.DAT250Project.PollApp.model.VoteOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -15,4 +22,47 @@ public interface VoteOptionRepository extends JpaRepository<VoteOption, UUID> {
 
     // Find options by poll ID ordered by presentation order
     List<VoteOption> findByPollIdOrderByPresentationOrderAsc(UUID pollId);
-}
\ No newline at end of file
+
+    // Check if an option belongs to a poll without loading either entity
+    boolean existsByIdAndPoll_Id(UUID optionId, UUID pollId);
+
+    // Find the poll of an option by reading only the foreign key
+    @Query("SELECT o.poll.id FROM VoteOption o WHERE o.id = :optionId")
+    Optional<UUID> findPollIdById(@Param("optionId") UUID optionId);
+
+    // Read the results of a poll from vote_options alone, using the denormalized counter
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.OptionResult(o.id, o.caption, o.presentationOrder, o.voteCount)
+            FROM VoteOption o
+            WHERE o.poll.id = :pollId
+            ORDER BY o.presentationOrder ASC
+            """)
+    List<OptionResult> findResultsByPollId(@Param("pollId") UUID pollId);
+
+    // Atomically add one vote to the counter of an option
+    @Transactional
+    @Modifying
+    @Query("UPDATE VoteOption o SET o.voteCount = o.voteCount + 1 WHERE o.id = :optionId")
+    int incrementVoteCount(@Param("optionId") UUID optionId);
+
+    // Atomically remove one vote from the counter of an option (never below zero)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VoteOption o SET o.voteCount = o.voteCount - 1 WHERE o.id = :optionId AND o.voteCount > 0")
+    int decrementVoteCount(@Param("optionId") UUID optionId);
+
+    // Atomically correct the counter of an option by a delta (used by the reconciliation job)
+    @Transactional
+    @Modifying
+    @Query("UPDATE VoteOption o SET o.voteCount = o.voteCount + :delta WHERE o.id = :optionId")
+    int adjustVoteCount(@Param("optionId") UUID optionId, @Param("delta") long delta);
+
+    // Recount the votes of every option (GROUP BY over votes) and return those whose counter drifted
+    @Query("""
+            SELECT new com.DAT250Project.PollApp.dto.VoteCountDrift(o.id, o.poll.id, o.voteCount, COUNT(v.id))
+            FROM VoteOption o LEFT JOIN o.votes v
+            GROUP BY o.id, o.poll.id, o.voteCount
+            HAVING o.voteCount <> COUNT(v.id)
+            """)
+    List<VoteCountDrift> findVoteCountDrift();
+}
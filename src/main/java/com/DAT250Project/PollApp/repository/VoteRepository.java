@@ -1,9 +1,15 @@
 package com.DAT250Project.PollApp.repository;
 
 import com.DAT250Project.PollApp.model.Vote;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.UUID;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +31,55 @@ public interface VoteRepository extends JpaRepository<Vote, UUID> {
     // Check if user has voted in a specific poll
     boolean existsByVoter_IdAndOptionPoll_Id(UUID voterId, UUID pollId);
 
+    // Find the vote of a user in a poll (unique, uses the denormalized poll_id)
+    Optional<Vote> findByVoter_IdAndPoll_Id(UUID voterId, UUID pollId);
+
+    // Check if a user has voted in a poll (uses the denormalized poll_id)
+    boolean existsByVoter_IdAndPoll_Id(UUID voterId, UUID pollId);
+
     // Count votes for an option
     long countByOption_Id(UUID optionId);
+
+    // Keyset pages of all votes, newest first: the first page, then the page after (publishedAt, id)
+    @Query("SELECT v FROM Vote v ORDER BY v.publishedAt DESC, v.id DESC")
+    List<Vote> findPage(Limit limit);
+
+    @Query("""
+            SELECT v FROM Vote v
+            WHERE v.publishedAt <= :publishedAt AND (v.publishedAt < :publishedAt OR v.id < :id)
+            ORDER BY v.publishedAt DESC, v.id DESC
+            """)
+    List<Vote> findPageAfter(@Param("publishedAt") Instant publishedAt, @Param("id") UUID id, Limit limit);
+
+    // Keyset pages of the votes of a user, newest first
+    @Query("SELECT v FROM Vote v WHERE v.voter.id = :voterId ORDER BY v.publishedAt DESC, v.id DESC")
+    List<Vote> findVoterPage(@Param("voterId") UUID voterId, Limit limit);
+
+    @Query("""
+            SELECT v FROM Vote v
+            WHERE v.voter.id = :voterId
+              AND v.publishedAt <= :publishedAt AND (v.publishedAt < :publishedAt OR v.id < :id)
+            ORDER BY v.publishedAt DESC, v.id DESC
+            """)
+    List<Vote> findVoterPageAfter(@Param("voterId") UUID voterId, @Param("publishedAt") Instant publishedAt,
+                                  @Param("id") UUID id, Limit limit);
+
+    // Keyset pages of the votes of a poll, newest first (on the denormalized poll_id, see backfillPollIds)
+    @Query("SELECT v FROM Vote v WHERE v.poll.id = :pollId ORDER BY v.publishedAt DESC, v.id DESC")
+    List<Vote> findPollPage(@Param("pollId") UUID pollId, Limit limit);
+
+    @Query("""
+            SELECT v FROM Vote v
+            WHERE v.poll.id = :pollId
+              AND v.publishedAt <= :publishedAt AND (v.publishedAt < :publishedAt OR v.id < :id)
+            ORDER BY v.publishedAt DESC, v.id DESC
+            """)
+    List<Vote> findPollPageAfter(@Param("pollId") UUID pollId, @Param("publishedAt") Instant publishedAt,
+                                 @Param("id") UUID id, Limit limit);
+
+    // Copy the poll of the option into the votes created before the poll_id column, returns the rows updated
+    @Transactional
+    @Modifying
+    @Query("UPDATE Vote v SET v.poll = (SELECT o.poll FROM VoteOption o WHERE o = v.option) WHERE v.poll IS NULL")
+    int backfillPollIds();
 }
\ No newline at end of file
@@ -109,6 +109,8 @@ public class SecurityConfig {
                         .requestMatchers("/auth/login", "/auth/**").permitAll()
                         .requestMatchers("/polls/*/votes").permitAll()
                         .requestMatchers("/users", "/users/**").permitAll()
+                        // WebSocket (STOMP) handshake for live results
+                        .requestMatchers("/ws", "/ws/**").permitAll()
                         // Swagger UI
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         // Public for everyone
@@ -147,10 +149,10 @@ public class SecurityConfig {
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
 
         // Allowed headers sent from frontend
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "If-None-Match"));
 
         // Headers exposed back to frontend
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag", "X-Next-Cursor"));
 
         // No cookies required for JWT
         configuration.setAllowCredentials(false);
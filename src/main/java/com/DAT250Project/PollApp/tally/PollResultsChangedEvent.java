@@ -0,0 +1,33 @@
+package com.DAT250Project.PollApp.tally;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link TallyEngine} when the live results of a poll changed,
+ * either because a vote was applied on this node or because the checkpoint
+ * picked up votes counted elsewhere.
+ *
+ * @param pollId   the poll whose results changed
+ * @param optionId the option whose count changed, or null if the poll's options changed
+ *                 (or it was deleted) and listeners should reload the whole results
+ * @param delta    the change of the option's count (0 when optionId is null)
+ */
+public record PollResultsChangedEvent(UUID pollId, UUID optionId, long delta) {
+
+    /**
+     * Creates an event telling listeners to reload the whole results of a poll.
+     *
+     * @param pollId the poll ID
+     * @return the event
+     */
+    public static PollResultsChangedEvent reload(UUID pollId) {
+        return new PollResultsChangedEvent(pollId, null, 0);
+    }
+
+    /**
+     * @return true if listeners should reload the whole results instead of applying a delta
+     */
+    public boolean isReload() {
+        return optionId == null;
+    }
+}
@@ -0,0 +1,428 @@
+package com.DAT250Project.PollApp.tally;
+
+import com.DAT250Project.PollApp.CacheConfig.RedisCacheService;
+import com.DAT250Project.PollApp.dto.OptionResult;
+import com.DAT250Project.PollApp.dto.PollResults;
+import com.DAT250Project.PollApp.repository.PollRepository;
+import com.DAT250Project.PollApp.repository.VoteOptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory live tally of poll results.
+ * <p>
+ * Each poll that is read gets a {@link PollTally}: the options in presentation order and one
+ * {@link LongAdder} per option, so concurrent votes and result reads never contend on a lock.
+ * Tallies are hydrated lazily (option metadata from the database, counts from the Redis results
+ * hash shared by all nodes, seeding it from the {@code vote_options} counters when it is missing),
+ * updated by PollManager on every vote write, and served without any database or Redis I/O.
+ * </p>
+ * <p>
+ * A poll is registered before its source is read, so a vote recorded during hydration is not
+ * skipped: it is buffered, and the source is read again once its increment has landed there
+ * (or, on the last attempt, the buffered votes are added to what was read).
+ * </p>
+ * <p>
+ * The database counters stay the durable source of truth (they are updated on every vote).
+ * The periodic checkpoint re-reads the Redis hash for the tallies that are in use, which picks up
+ * the votes handled on other nodes with one HGETALL per poll, and drops the tallies that were not
+ * read since the previous checkpoint so memory only holds hot polls.
+ * </p>
+ */
+@Component
+public class TallyEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TallyEngine.class);
+
+    private final VoteOptionRepository voteOptionRepository;
+    private final PollRepository pollRepository;
+    private final RedisCacheService redisCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Reads of the source before the votes recorded meanwhile are added instead of read again
+    private static final int MAX_HYDRATION_ATTEMPTS = 3;
+
+    private final ConcurrentHashMap<UUID, PollTally> tallies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Hydration> hydrations = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the tally engine.
+     *
+     * @param voteOptionRepository repository used to hydrate tallies from the vote counters
+     * @param pollRepository       repository used to tell an empty poll from a missing one
+     * @param redisCacheService    access to the results hash shared by all nodes
+     * @param eventPublisher       publisher for {@link PollResultsChangedEvent}
+     */
+    public TallyEngine(VoteOptionRepository voteOptionRepository, PollRepository pollRepository,
+                       RedisCacheService redisCacheService, ApplicationEventPublisher eventPublisher) {
+        this.voteOptionRepository = voteOptionRepository;
+        this.pollRepository = pollRepository;
+        this.redisCacheService = redisCacheService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Returns the current results of a poll, hydrating its tally on first access.
+     *
+     * @param pollId the poll ID
+     * @return the results, or null if the poll does not exist
+     */
+    public PollResults getResults(UUID pollId) {
+        PollTally tally = tallies.get(pollId);
+        if (tally == null) {
+            tally = load(pollId);
+            if (tally == null) {
+                return null; // unknown polls are not cached, so they cannot fill the map
+            }
+        }
+        return tally.snapshot();
+    }
+
+    /**
+     * Applies a vote change to the tally of a poll, if that tally is loaded or being hydrated.
+     * Other polls are skipped: they read the (already updated) results hash or database counters on hydration,
+     * so the caller records the vote there first.
+     *
+     * @param pollId   the poll ID
+     * @param optionId the option whose count changes
+     * @param delta    +1 for a new vote, -1 for a removed one
+     */
+    public void recordVote(UUID pollId, UUID optionId, long delta) {
+        if (pollId == null || optionId == null) {
+            return;
+        }
+        PollTally tally = tallies.get(pollId);
+        if (tally == null) {
+            Hydration hydration = hydrations.get(pollId);
+            if (hydration == null || hydration.record(optionId, delta)) {
+                return;
+            }
+            // The hydration has just ended, installing the tally (or finding no poll)
+            tally = tallies.get(pollId);
+            if (tally == null) {
+                return;
+            }
+        }
+        if (tally.add(optionId, delta)) {
+            eventPublisher.publishEvent(new PollResultsChangedEvent(pollId, optionId, delta));
+        } else {
+            // The option is not part of the loaded tally (options changed): reload on next read
+            tallies.remove(pollId, tally);
+            eventPublisher.publishEvent(PollResultsChangedEvent.reload(pollId));
+        }
+    }
+
+    /**
+     * Keeps the tally of a poll loaded across checkpoints without taking a snapshot,
+     * e.g. while clients are subscribed to its results.
+     *
+     * @param pollId the poll ID
+     * @return false if the tally is not loaded (never read, evicted or dropped)
+     */
+    public boolean retain(UUID pollId) {
+        PollTally tally = tallies.get(pollId);
+        if (tally == null) {
+            return false;
+        }
+        tally.markAccessed();
+        return true;
+    }
+
+    /**
+     * Drops the tally of a poll, e.g. after its options changed or it was deleted.
+     *
+     * @param pollId the poll ID
+     */
+    public void evict(UUID pollId) {
+        tallies.remove(pollId);
+        Hydration hydration = hydrations.get(pollId);
+        if (hydration != null) {
+            hydration.invalidate(); // what it is reading may already be outdated
+        }
+        eventPublisher.publishEvent(PollResultsChangedEvent.reload(pollId));
+    }
+
+    /**
+     * Drops the tally of a poll together with its shared results hash, so the next read
+     * reloads the counts from the database counters (e.g. after they were corrected).
+     *
+     * @param pollId the poll ID
+     */
+    public void resync(UUID pollId) {
+        redisCacheService.delete("poll_results", pollId);
+        evict(pollId);
+    }
+
+    /**
+     * Refreshes the tallies read since the last checkpoint from the Redis results hash
+     * and drops the ones that were not read.
+     */
+    @Scheduled(fixedDelayString = "${app.tally.checkpoint-interval-ms:5000}")
+    public void checkpoint() {
+        int refreshed = 0;
+        for (Map.Entry<UUID, PollTally> entry : tallies.entrySet()) {
+            PollTally tally = entry.getValue();
+            if (!tally.resetAccessed()) {
+                tallies.remove(entry.getKey(), tally);
+                continue;
+            }
+            PollTally fresh = refresh(entry.getKey(), tally);
+            if (fresh == null) {
+                tallies.remove(entry.getKey(), tally);
+            } else {
+                fresh.markAccessed();
+                if (tallies.replace(entry.getKey(), tally, fresh)) {
+                    publishChanges(entry.getKey(), tally, fresh);
+                }
+                refreshed++;
+            }
+        }
+        logger.debug("Tally checkpoint refreshed {} poll(s), {} cached", refreshed, tallies.size());
+    }
+
+    // Publishes the per-option changes between two tallies of a poll (or a reload if their options differ)
+    private void publishChanges(UUID pollId, PollTally previous, PollTally current) {
+        Map<UUID, Long> changes = current.changesSince(previous);
+        if (changes == null) {
+            eventPublisher.publishEvent(PollResultsChangedEvent.reload(pollId));
+            return;
+        }
+        changes.forEach((optionId, delta) ->
+                eventPublisher.publishEvent(new PollResultsChangedEvent(pollId, optionId, delta)));
+    }
+
+    // Hydrates the tally of a poll and installs it, one hydration per poll at a time; null if the poll does not exist
+    private PollTally load(UUID pollId) {
+        while (true) {
+            Hydration hydration = hydrations.computeIfAbsent(pollId, id -> new Hydration());
+            synchronized (hydration.loadLock) {
+                if (hydration.isDone()) {
+                    // Ended while this thread waited: use its tally, or hydrate again if there is none
+                    PollTally loaded = tallies.get(pollId);
+                    if (loaded != null) {
+                        return loaded;
+                    }
+                    continue;
+                }
+                try {
+                    for (int attempt = 1; ; attempt++) {
+                        hydration.reset(); // the votes recorded so far are in the source read below
+                        PollTally tally = hydrate(pollId);
+                        if (tally == null || hydration.install(tally, attempt == MAX_HYDRATION_ATTEMPTS, tallies)) {
+                            return tally;
+                        }
+                    }
+                } finally {
+                    hydration.finish();
+                    hydrations.remove(pollId, hydration);
+                }
+            }
+        }
+    }
+
+    // Loads the options and counts of a poll; null if the poll does not exist
+    private PollTally hydrate(UUID pollId) {
+        Map<UUID, Long> counts = redisCacheService.getPollResults(pollId);
+        // With no hash, open one for seeding before the counters are read: from then on votes increment it
+        boolean seeding = counts.isEmpty() && redisCacheService.beginPollResultsSeed(pollId);
+
+        List<OptionResult> options = voteOptionRepository.findResultsByPollId(pollId);
+        if (options.isEmpty() && !pollRepository.existsById(pollId)) {
+            if (seeding) {
+                redisCacheService.delete("poll_results", pollId);
+            }
+            return null;
+        }
+
+        if (seeding) {
+            if (redisCacheService.finishPollResultsSeed(pollId, databaseCounts(options))) {
+                counts = redisCacheService.getPollResults(pollId);
+            }
+        } else if (!counts.isEmpty() && !coversAll(counts, options)) {
+            // A hash left from other options: add the missing ones, the counted ones are kept
+            redisCacheService.fillPollResults(pollId, databaseCounts(options));
+            counts = redisCacheService.getPollResults(pollId);
+        }
+        if (coversAll(counts, options)) {
+            return new PollTally(pollId, withCounts(options, counts));
+        }
+        // Being seeded by another node: the database counters until the next checkpoint
+        return new PollTally(pollId, options);
+    }
+
+    private static Map<UUID, Long> databaseCounts(List<OptionResult> options) {
+        Map<UUID, Long> counts = new LinkedHashMap<>();
+        for (OptionResult option : options) {
+            counts.put(option.optionId(), option.voteCount());
+        }
+        return counts;
+    }
+
+    // Re-reads the counts of a loaded tally from the results hash, falling back to a full hydration
+    private PollTally refresh(UUID pollId, PollTally tally) {
+        List<OptionResult> options = Arrays.asList(tally.options);
+        Map<UUID, Long> counts = redisCacheService.getPollResults(pollId);
+        if (coversAll(counts, options)) {
+            return new PollTally(pollId, withCounts(options, counts));
+        }
+        return hydrate(pollId);
+    }
+
+    // Extra fields (options removed since the hash was seeded) are ignored
+    private static boolean coversAll(Map<UUID, Long> counts, List<OptionResult> options) {
+        if (options.isEmpty()) {
+            return false;
+        }
+        for (OptionResult option : options) {
+            if (!counts.containsKey(option.optionId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<OptionResult> withCounts(List<OptionResult> options, Map<UUID, Long> counts) {
+        List<OptionResult> result = new ArrayList<>(options.size());
+        for (OptionResult option : options) {
+            result.add(new OptionResult(option.optionId(), option.caption(),
+                    option.presentationOrder(), counts.get(option.optionId())));
+        }
+        return result;
+    }
+
+    /**
+     * A tally being hydrated: buffers the votes recorded while its source is read.
+     * One thread hydrates a poll at a time (holding {@code loadLock}); the other methods
+     * are short and synchronized, as they run on the vote path.
+     */
+    static final class Hydration {
+
+        final Object loadLock = new Object();
+        private final Map<UUID, Long> deltas = new HashMap<>();
+        private boolean stale;
+        private boolean done;
+
+        // Buffers a vote; false once the hydration has ended
+        synchronized boolean record(UUID optionId, long delta) {
+            if (done) {
+                return false;
+            }
+            deltas.merge(optionId, delta, Long::sum);
+            return true;
+        }
+
+        // Makes the running attempt read its source again
+        synchronized void invalidate() {
+            stale = true;
+        }
+
+        synchronized void reset() {
+            deltas.clear();
+            stale = false;
+        }
+
+        // Installs the tally unless votes arrived (or it was invalidated) during the read, in which
+        // case false is returned to read again; on the last attempt the buffered votes are added instead
+        synchronized boolean install(PollTally tally, boolean lastAttempt, Map<UUID, PollTally> tallies) {
+            if ((stale || !deltas.isEmpty()) && !lastAttempt) {
+                return false;
+            }
+            deltas.forEach(tally::add);
+            tallies.put(tally.pollId, tally);
+            done = true;
+            return true;
+        }
+
+        synchronized void finish() {
+            done = true;
+        }
+
+        synchronized boolean isDone() {
+            return done;
+        }
+    }
+
+    /**
+     * Live counters of one poll: option metadata is fixed, counts are striped per option
+     * and indexed by position in presentation order.
+     */
+    static final class PollTally {
+
+        private final UUID pollId;
+        private final OptionResult[] options;
+        private final LongAdder[] counts;
+        private final Map<UUID, Integer> indexByOption;
+        private volatile boolean accessed = true;
+
+        PollTally(UUID pollId, List<OptionResult> optionsInOrder) {
+            this.pollId = pollId;
+            this.options = optionsInOrder.toArray(new OptionResult[0]);
+            this.counts = new LongAdder[options.length];
+            this.indexByOption = new HashMap<>(options.length * 2);
+            for (int i = 0; i < options.length; i++) {
+                counts[i] = new LongAdder();
+                counts[i].add(options[i].voteCount());
+                indexByOption.put(options[i].optionId(), i);
+            }
+        }
+
+        // Returns false if the option is unknown to this tally
+        boolean add(UUID optionId, long delta) {
+            Integer index = indexByOption.get(optionId);
+            if (index == null) {
+                return false;
+            }
+            counts[index].add(delta);
+            return true;
+        }
+
+        PollResults snapshot() {
+            accessed = true;
+            List<OptionResult> results = new ArrayList<>(options.length);
+            long total = 0;
+            for (int i = 0; i < options.length; i++) {
+                long count = counts[i].sum();
+                total += count;
+                results.add(new OptionResult(options[i].optionId(), options[i].caption(),
+                        options[i].presentationOrder(), count));
+            }
+            return new PollResults(pollId, total, results);
+        }
+
+        // Count changes (optionId -> delta) since an older tally of the same poll; null if the options differ
+        Map<UUID, Long> changesSince(PollTally older) {
+            if (options.length != older.options.length) {
+                return null;
+            }
+            Map<UUID, Long> changes = new LinkedHashMap<>();
+            for (int i = 0; i < options.length; i++) {
+                if (!options[i].optionId().equals(older.options[i].optionId())) {
+                    return null;
+                }
+                long delta = counts[i].sum() - older.counts[i].sum();
+                if (delta != 0) {
+                    changes.put(options[i].optionId(), delta);
+                }
+            }
+            return changes;
+        }
+
+        void markAccessed() {
+            accessed = true;
+        }
+
+        // Returns whether the tally was read since the previous call, and clears the flag
+        boolean resetAccessed() {
+            boolean wasAccessed = accessed;
+            accessed = false;
+            return wasAccessed;
+        }
+    }
+}
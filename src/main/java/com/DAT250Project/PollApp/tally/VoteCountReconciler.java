@@ -0,0 +1,82 @@
+package com.DAT250Project.PollApp.tally;
+
+import com.DAT250Project.PollApp.dto.VoteCountDrift;
+import com.DAT250Project.PollApp.repository.VoteOptionRepository;
+import com.DAT250Project.PollApp.repository.VoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodic job that recomputes the vote counters of all options from the votes table
+ * and corrects (and reports) any counter that drifted, e.g. after votes were removed
+ * by a cascade or written outside PollManager. On startup it also fills in the poll of
+ * votes created before the denormalized poll_id column.
+ */
+@Component
+public class VoteCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteCountReconciler.class);
+
+    private final VoteOptionRepository voteOptionRepository;
+    private final VoteRepository voteRepository;
+    private final TallyEngine tallyEngine;
+
+    /**
+     * Constructs the reconciler.
+     *
+     * @param voteOptionRepository repository holding the denormalized counters
+     * @param voteRepository       repository holding the denormalized poll of each vote
+     * @param tallyEngine          live tallies to reload after a correction
+     */
+    public VoteCountReconciler(VoteOptionRepository voteOptionRepository, VoteRepository voteRepository,
+                               TallyEngine tallyEngine) {
+        this.voteOptionRepository = voteOptionRepository;
+        this.voteRepository = voteRepository;
+        this.tallyEngine = tallyEngine;
+    }
+
+    /**
+     * Sets the poll of the votes that have none (rows created before the poll_id column),
+     * so the unique vote-per-poll index and the poll pages see them.
+     *
+     * @return the number of votes updated
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfillPollIds() {
+        int updated = voteRepository.backfillPollIds();
+        if (updated > 0) {
+            logger.info("Filled in the poll of {} legacy vote(s)", updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Recounts the votes of every option and fixes the counters that differ.
+     * The correction is applied as a delta so votes cast while the job runs are not lost.
+     *
+     * @return the drifts that were found and corrected (empty if all counters were correct)
+     */
+    @Scheduled(initialDelayString = "${app.votes.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${app.votes.reconcile-interval-ms:3600000}")
+    public List<VoteCountDrift> reconcile() {
+        List<VoteCountDrift> drifts = voteOptionRepository.findVoteCountDrift();
+
+        for (VoteCountDrift drift : drifts) {
+            logger.warn("Vote count drift on option {} (poll {}): stored={}, actual={}",
+                    drift.optionId(), drift.pollId(), drift.storedCount(), drift.actualCount());
+            voteOptionRepository.adjustVoteCount(drift.optionId(), drift.delta());
+            tallyEngine.resync(drift.pollId());
+        }
+
+        if (!drifts.isEmpty()) {
+            logger.info("Vote count reconciliation corrected {} option(s)", drifts.size());
+        }
+        return drifts;
+    }
+}
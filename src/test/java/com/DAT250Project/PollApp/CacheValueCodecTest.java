@@ -0,0 +1,124 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.CacheValueCodec;
+import com.DAT250Project.PollApp.CacheConfig.RedisConfig;
+import com.DAT250Project.PollApp.dto.OptionResponse;
+import com.DAT250Project.PollApp.dto.PollResponse;
+import com.DAT250Project.PollApp.dto.UserSummary;
+import com.DAT250Project.PollApp.dto.VoteResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the binary format of the values cached in Redis.
+ */
+class CacheValueCodecTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-01T12:00:00.123456789Z");
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(new RedisConfig().objectMapper());
+    private final CacheValueCodec codec = new CacheValueCodec(json);
+
+    @Test
+    @DisplayName("A cached poll is read back as an equal PollResponse, instants to the nanosecond")
+    void poll_roundTrip() {
+        PollResponse poll = samplePoll(3);
+
+        assertThat(codec.deserialize(codec.serialize(poll))).isEqualTo(poll);
+    }
+
+    @Test
+    @DisplayName("JSON mode writes typed values that both modes read back as the same records")
+    void jsonMode_typedRoundTrip() {
+        CacheValueCodec jsonCodec = new CacheValueCodec(json, true);
+        PollResponse poll = samplePoll(3);
+        List<VoteResponse> votes = sampleVotes(2);
+
+        byte[] pollBytes = jsonCodec.serialize(poll);
+        assertThat(new String(pollBytes, 2, pollBytes.length - 2, StandardCharsets.UTF_8)).startsWith("{");
+        assertThat(jsonCodec.deserialize(pollBytes)).isEqualTo(poll);
+        assertThat(codec.deserialize(pollBytes)).isEqualTo(poll);
+        assertThat(jsonCodec.deserialize(jsonCodec.serialize(votes))).isEqualTo(votes);
+        assertThat(jsonCodec.deserialize(codec.serialize(votes))).isEqualTo(votes);
+    }
+
+    @Test
+    @DisplayName("A list of DTOs is read back as a list of the same records")
+    void list_roundTrip() {
+        List<VoteResponse> votes = sampleVotes(2);
+
+        assertThat(codec.deserialize(codec.serialize(votes))).isEqualTo(votes);
+        assertThat(codec.deserialize(codec.serialize(List.of()))).isEqualTo(List.of());
+    }
+
+    @Test
+    @DisplayName("The binary form is smaller than the JSON form")
+    void binary_smallerThanJson() {
+        PollResponse poll = samplePoll(20);
+
+        assertThat(codec.serialize(poll).length).isLessThan(json.serialize(poll).length * 2 / 3);
+    }
+
+    @Test
+    @DisplayName("Values written as JSON before the upgrade are still read")
+    void legacyJson_isRead() {
+        Object value = codec.deserialize(json.serialize(samplePoll(1)));
+
+        assertThat(value).isInstanceOf(Map.class);
+        assertThat(((Map<?, ?>) value).get("question")).isEqualTo("Which is best?");
+    }
+
+    @Test
+    @DisplayName("An option cached with its votes and count, before they were dropped from the DTO, is still read")
+    void droppedField_isSkipped() {
+        OptionResponse option = samplePoll(1).options().get(0);
+        Map<String, Object> legacy = new LinkedHashMap<>();
+        legacy.put("id", option.id());
+        legacy.put("caption", option.caption());
+        legacy.put("presentationOrder", option.presentationOrder());
+        legacy.put("voteCount", 3L);
+        legacy.put("pollId", option.pollId());
+        legacy.put("votes", List.of());
+        byte[] bytes = codec.serialize(legacy);
+        bytes[1] = 2; // type code of OptionResponse
+
+        assertThat(codec.deserialize(bytes)).isEqualTo(option);
+    }
+
+    @Test
+    @DisplayName("A value of an unknown format version is a cache miss")
+    void unknownVersion_isMiss() {
+        byte[] bytes = codec.serialize(samplePoll(1));
+        bytes[0] = 3;
+
+        assertThat(codec.deserialize(bytes)).isNull();
+    }
+
+    private static PollResponse samplePoll(int optionCount) {
+        UUID pollId = UUID.randomUUID();
+        List<OptionResponse> options = IntStream.range(0, optionCount)
+                .mapToObj(i -> new OptionResponse(UUID.randomUUID(), "Option " + i, i + 1, pollId))
+                .toList();
+        return new PollResponse(pollId, "Which is best?", NOW, NOW.plusSeconds(3600), true,
+                new UserSummary(UUID.randomUUID(), "alice"), options, 1_759_320_000_123_456L);
+    }
+
+    private static List<VoteResponse> sampleVotes(int count) {
+        UUID pollId = UUID.randomUUID();
+        UUID optionId = UUID.randomUUID();
+        return IntStream.range(0, count)
+                .mapToObj(i -> new VoteResponse(UUID.randomUUID(), NOW.plusSeconds(i), UUID.randomUUID(), optionId, pollId))
+                .toList();
+    }
+}
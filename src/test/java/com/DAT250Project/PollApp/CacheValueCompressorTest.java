@@ -0,0 +1,69 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.CacheValueCompressor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the compression of large cache values.
+ */
+class CacheValueCompressorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheValueCompressor compressor = new CacheValueCompressor(1024, 1, meterRegistry);
+
+    @Test
+    @DisplayName("Values up to the threshold are stored as is")
+    void smallValue_storedAsIs() {
+        byte[] raw = "a small value".getBytes(StandardCharsets.UTF_8);
+
+        byte[] stored = compressor.compress("poll", raw);
+
+        assertThat(stored).isSameAs(raw);
+        assertThat(compressor.decompress("poll", stored)).isSameAs(raw);
+    }
+
+    @Test
+    @DisplayName("Large values are deflated, read back unchanged and measured per prefix")
+    void largeValue_compressedAndMeasured() {
+        byte[] raw = "{\"caption\":\"Option\",\"voteCount\":0}".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+        byte[] stored = compressor.compress("poll_votes", raw);
+
+        assertThat(stored.length).isLessThan(raw.length / 4);
+        assertThat(compressor.decompress("poll_votes", stored)).isEqualTo(raw);
+
+        DistributionSummary rawSize = meterRegistry.get("cache.value.size").tags("prefix", "poll_votes", "form", "raw").summary();
+        DistributionSummary storedSize = meterRegistry.get("cache.value.size").tags("prefix", "poll_votes", "form", "stored").summary();
+        assertThat(rawSize.totalAmount()).isEqualTo(raw.length);
+        assertThat(storedSize.totalAmount()).isEqualTo(stored.length);
+        assertThat(meterRegistry.get("cache.value.compression").tags("prefix", "poll_votes", "operation", "decompress").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Values that deflate does not shrink are stored as is")
+    void incompressibleValue_storedAsIs() {
+        byte[] raw = new byte[4096];
+        new Random(42).nextBytes(raw);
+        raw[0] = 1; // like a CacheValueCodec value
+
+        assertThat(compressor.compress("user_polls", raw)).isSameAs(raw);
+    }
+
+    @Test
+    @DisplayName("A negative threshold disables compression")
+    void negativeThreshold_disables() {
+        CacheValueCompressor disabled = new CacheValueCompressor(-1, 1, meterRegistry);
+        byte[] raw = "x".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(disabled.compress("all_users", raw)).isSameAs(raw);
+    }
+}
@@ -0,0 +1,79 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.CacheKey;
+import com.DAT250Project.PollApp.CacheConfig.RedisCacheService;
+import com.DAT250Project.PollApp.dto.UserResponse;
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the generation counters of the collection caches.
+ */
+@SpringBootTest
+class CollectionCacheGenerationTest {
+
+    @Autowired
+    private PollManager pollManager;
+    @Autowired
+    private RedisCacheService redisCacheService;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        alice = new User("alice", "alice@example.com");
+        alice.setPassword("secret");
+        alice = userRepository.save(alice);
+    }
+
+    @Test
+    @DisplayName("Invalidating a collection increments its generation instead of deleting it")
+    void invalidate_bumpsGeneration() {
+        CacheKey allUsers = CacheKey.of("all_users");
+        long before = redisCacheService.currentGeneration(allUsers);
+
+        redisCacheService.invalidate(List.of(allUsers, CacheKey.of("user_polls", alice.getId())));
+
+        assertThat(redisCacheService.currentGeneration(allUsers)).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("A stale list cached by a reader that raced with a write is never served")
+    void staleFill_landsOnDeadGeneration() {
+        // A reader takes the generation and loads the list before the user is created...
+        long readerGeneration = redisCacheService.currentGeneration(CacheKey.of("all_users"));
+        List<UserResponse> staleList = userRepository.findAll().stream().map(UserResponse::of).toList();
+
+        User bob = new User("bob", "bob@example.com");
+        bob.setPassword("secret");
+        bob = pollManager.createUser(bob);
+
+        // ...and caches it after the write invalidated the collection
+        redisCacheService.cacheAllUsers(readerGeneration, staleList);
+
+        assertThat(pollManager.getUsersPage(null, null).items()).extracting(UserResponse::id).contains(alice.getId(), bob.getId());
+    }
+}
@@ -0,0 +1,110 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.dto.CursorPage;
+import com.DAT250Project.PollApp.model.Poll;
+import com.DAT250Project.PollApp.model.User;
+import com.DAT250Project.PollApp.model.VoteOption;
+import com.DAT250Project.PollApp.repository.PollRepository;
+import com.DAT250Project.PollApp.repository.UserRepository;
+import com.DAT250Project.PollApp.repository.VoteOptionRepository;
+import com.DAT250Project.PollApp.repository.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the cached listings with the JSON cache codec: a page read back from the cache must be
+ * the same records as the page that was cached, also when the cached rows are more than a page.
+ */
+@SpringBootTest(properties = {"app.cache.codec=json", "app.pagination.default-size=2"})
+class JsonCacheCodecTest {
+
+    private static final int ROWS = 3;
+
+    @Autowired
+    private PollManager pollManager;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private User alice;
+    private Poll votedPoll;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+        pollManager.clearAllCache();
+
+        alice = saveUser("alice");
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            voters.add(saveUser("voter" + i));
+            createPoll("Public " + i, true);
+            createPoll("Private " + i, false);
+        }
+        votedPoll = createPoll("Voted?", true);
+        VoteOption yes = votedPoll.getOptions().getFirst();
+        for (User voter : voters) {
+            pollManager.createVote(votedPoll.getId(), voter.getId(), yes.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Cached listing pages are read back as the same records, with their next cursor")
+    void listings_readBackTyped() {
+        assertCachedPage(() -> pollManager.getPublicPolls(null, null, null));
+        assertCachedPage(() -> pollManager.getPrivatePolls(alice.getId(), null, null));
+        assertCachedPage(() -> pollManager.getUsersPage(null, null));
+        assertCachedPage(() -> pollManager.getVotesByPoll(votedPoll.getId(), null, null));
+    }
+
+    @Test
+    @DisplayName("The cached polls of a user are read back as the same records")
+    void userPolls_readBackTyped() {
+        List<?> loaded = pollManager.getPollsByUser(alice.getId());
+
+        assertThat(pollManager.getPollsByUser(alice.getId())).isEqualTo(loaded);
+    }
+
+    // The first call loads and caches the page, the second one is served from the cache
+    private static void assertCachedPage(Supplier<? extends CursorPage<?>> page) {
+        CursorPage<?> loaded = page.get();
+        assertThat(loaded.nextCursor()).isNotNull();
+
+        assertThat(page.get()).isEqualTo(loaded);
+    }
+
+    private Poll createPoll(String question, boolean publicPoll) {
+        Poll poll = new Poll();
+        poll.setQuestion(question);
+        poll.setPublicPoll(publicPoll);
+        poll.setCreatedBy(alice);
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        poll.setOptions(new ArrayList<>(List.of(new VoteOption("Yes", 1, poll))));
+        return pollManager.createPoll(poll);
+    }
+
+    private User saveUser(String username) {
+        User user = new User(username, username + "@example.com");
+        user.setPassword("secret");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,98 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.NearCache;
+import com.DAT250Project.PollApp.CacheConfig.RedisCacheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the in-process L1 cache in front of Redis and its pub/sub invalidation.
+ */
+@SpringBootTest
+class NearCacheTest {
+
+    @Autowired
+    private RedisCacheService redisCacheService;
+    @Autowired
+    private NearCache nearCache;
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("A hot entity is served from L1 once it was read from Redis")
+    void get_servesFromNearCache() {
+        UUID id = UUID.randomUUID();
+        redisCacheService.put("poll", id, "cached poll");
+
+        assertThat(redisCacheService.get("poll", id)).isEqualTo("cached poll");
+
+        // Removed behind the service's back: the L1 copy still answers
+        redisTemplate.delete("poll:" + id);
+        assertThat(redisCacheService.get("poll", id)).isEqualTo("cached poll");
+    }
+
+    @Test
+    @DisplayName("delete() evicts the L1 copy")
+    void delete_evictsNearCache() {
+        UUID id = UUID.randomUUID();
+        redisCacheService.put("poll", id, "cached poll");
+        redisCacheService.get("poll", id);
+
+        redisCacheService.delete("poll", id);
+
+        assertThat(nearCache.get("poll:" + id)).isNull();
+        assertThat(redisCacheService.get("poll", id)).isNull();
+    }
+
+    @Test
+    @DisplayName("An invalidation published by another node evicts the L1 copy")
+    void remoteInvalidation_evictsNearCache() throws Exception {
+        UUID id = UUID.randomUUID();
+        redisCacheService.put("user", id, "cached user");
+        redisCacheService.get("user", id);
+        assertThat(nearCache.get("user:" + id)).isEqualTo("cached user");
+
+        stringRedisTemplate.convertAndSend(NearCache.INVALIDATION_CHANNEL, "user:" + id);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (nearCache.get("user:" + id) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(nearCache.get("user:" + id)).isNull();
+    }
+
+    @Test
+    @DisplayName("A value read before an invalidation is not stored")
+    void putIfValid_ignoresValuesReadBeforeInvalidation() {
+        String key = "option:" + UUID.randomUUID();
+
+        long readStamp = nearCache.readStamp();
+        nearCache.invalidate(key);
+        nearCache.putIfValid(key, "old value", readStamp);
+
+        assertThat(nearCache.get(key)).isNull();
+
+        nearCache.putIfValid(key, "new value", nearCache.readStamp());
+        assertThat(nearCache.get(key)).isEqualTo("new value");
+    }
+
+    @Test
+    @DisplayName("Collections are not kept in L1")
+    void get_skipsNearCacheForOtherPrefixes() {
+        UUID id = UUID.randomUUID();
+        redisCacheService.put("poll_votes", id, "votes");
+        redisCacheService.get("poll_votes", id);
+
+        assertThat(nearCache.get("poll_votes:" + id)).isNull();
+    }
+}
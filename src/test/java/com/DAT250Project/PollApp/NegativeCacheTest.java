@@ -0,0 +1,66 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.CacheKey;
+import com.DAT250Project.PollApp.CacheConfig.RedisCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the tombstones cached for unknown ids.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class NegativeCacheTest {
+
+    @Autowired
+    private PollManager pollManager;
+    @Autowired
+    private RedisCacheService redisCacheService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Repeated lookups of an unknown id query the database once")
+    void unknownIds_queriedOnce() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UUID pollId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID optionId = UUID.randomUUID();
+        UUID voteId = UUID.randomUUID();
+
+        statistics.clear();
+        assertThat(pollManager.getPollById(pollId)).isNull();
+        assertThat(pollManager.getUserById(userId)).isNull();
+        assertThat(pollManager.getOptionById(optionId)).isNull();
+        assertThat(pollManager.getVoteById(voteId)).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+        statistics.clear();
+        assertThat(pollManager.getPollById(pollId)).isNull();
+        assertThat(pollManager.getUserById(userId)).isNull();
+        assertThat(pollManager.getOptionById(optionId)).isNull();
+        assertThat(pollManager.getVoteById(voteId)).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Invalidating the key of a new entity removes its tombstone")
+    void invalidate_removesTombstone() {
+        UUID pollId = UUID.randomUUID();
+        redisCacheService.putMissing("poll", pollId);
+        assertThat(redisCacheService.get("poll", pollId)).isSameAs(RedisCacheService.MISSING);
+
+        redisCacheService.invalidate(List.of(CacheKey.of("poll", pollId)));
+
+        assertThat(redisCacheService.get("poll", pollId)).isNull();
+    }
+}
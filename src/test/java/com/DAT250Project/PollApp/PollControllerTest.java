@@ -6,6 +6,7 @@ import com.DAT250Project.PollApp.model.VoteOption;
 import com.DAT250Project.PollApp.repository.PollRepository;
 import com.DAT250Project.PollApp.repository.UserRepository;
 import com.DAT250Project.PollApp.repository.VoteOptionRepository;
+import com.DAT250Project.PollApp.repository.VoteRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,6 +23,8 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -52,6 +55,10 @@ class PollControllerTest {
     private PollRepository pollRepository;
     @Autowired
     private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+    @Autowired
+    private PollManager pollManager;
 
     private User alice;
     private Poll poll;
@@ -62,9 +69,12 @@ class PollControllerTest {
     void setUp() throws Exception {
 
         // Clean DB
+        voteRepository.deleteAll();
         voteOptionRepository.deleteAll();
         pollRepository.deleteAll();
         userRepository.deleteAll();
+        // The data is written through the repositories, so drop the cached public listings
+        pollManager.clearAllCache();
 
         // seed user (Alice) with a password so we can log in via /auth/login in tests
         alice = new User("alice", "alice@example.com");
@@ -119,6 +129,44 @@ class PollControllerTest {
                 .andExpect(jsonPath("$[?(@.question=='Which is best?')]").exists());
     }
 
+    @Test
+    @DisplayName("GET /polls pages through polls newest first with a cursor")
+    void getAllPolls_pagesWithCursor() throws Exception {
+        Poll older = savePoll("Older?", Instant.now().minusSeconds(60), true);
+        Poll newest = savePoll("Newest?", Instant.now().plusSeconds(60), false);
+
+        String cursor = mockMvc.perform(get("/polls").param("limit", "2")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(newest.getId().toString()))
+                .andExpect(jsonPath("$[1].id").value(poll.getId().toString()))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/polls").param("limit", "2").param("cursor", cursor)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(older.getId().toString()))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        // Public polls only
+        mockMvc.perform(get("/polls").param("publicOnly", "true")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.question=='Newest?')]").doesNotExist())
+                .andExpect(jsonPath("$[?(@.question=='Older?')]").exists());
+    }
+
+    @Test
+    @DisplayName("GET /polls with a malformed cursor returns 400")
+    void getAllPolls_rejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/polls").param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /polls/{id} returns poll")
     void getPollById_returnsPoll() throws Exception {
@@ -157,6 +205,159 @@ class PollControllerTest {
                 .andExpect(jsonPath("$.length()").value(2)); // red + green seeded in setup
     }
 
+    @Test
+    @DisplayName("GET /polls/{pollId}/results/detailed returns counts with captions in order")
+    void getDetailedResults_returnsOrderedTallies() throws Exception {
+        mockMvc.perform(get("/polls/{pollId}/results/detailed", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pollId").value(poll.getId().toString()))
+                .andExpect(jsonPath("$.totalVotes").value(0))
+                .andExpect(jsonPath("$.options.length()").value(2))
+                .andExpect(jsonPath("$.options[0].caption").value("Red"))
+                .andExpect(jsonPath("$.options[0].voteCount").value(0))
+                .andExpect(jsonPath("$.options[1].caption").value("Green"));
+    }
+
+    @Test
+    @DisplayName("GET /polls/{pollId} answers 304 for the current ETag and a new ETag after a change")
+    void getPoll_conditionalRequests() throws Exception {
+        String eTag = mockMvc.perform(get("/polls/{pollId}", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/polls/{pollId}", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/polls/{pollId}/options", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        // Any change to the poll bumps its version
+        VoteOption blue = new VoteOption();
+        blue.setCaption("Blue");
+        blue.setPresentationOrder(3);
+        mockMvc.perform(post("/polls/{pollId}/options", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(blue)))
+                .andExpect(status().isCreated());
+
+        String newETag = mockMvc.perform(get("/polls/{pollId}", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newETag).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @DisplayName("If-None-Match: * is 304 for an existing poll and 404 for an unknown one")
+    void getPoll_ifNoneMatchAny() throws Exception {
+        mockMvc.perform(get("/polls/{pollId}", poll.getId())
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/polls/{pollId}", UUID.randomUUID())
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /polls/{pollId} of an unknown poll is 404 and starts no version")
+    void getPoll_unknownPoll_noVersion() throws Exception {
+        UUID unknownId = UUID.randomUUID();
+
+        mockMvc.perform(get("/polls/{pollId}", unknownId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNotFound());
+
+        assertThat(pollManager.getPollVersion(unknownId)).isNull();
+    }
+
+    @Test
+    @DisplayName("A deleted poll is 404 even for a client holding its last ETag")
+    void getPoll_deletedPoll_notFoundWithETag() throws Exception {
+        String eTag = mockMvc.perform(get("/polls/{pollId}", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        pollManager.deletePollById(poll.getId());
+
+        mockMvc.perform(get("/polls/{pollId}", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotFound());
+        assertThat(pollManager.getPollVersion(poll.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("The polls of a deleted user are 404 even for a client holding their last ETag")
+    void getPoll_deletedCreator_notFoundWithETag() throws Exception {
+        String eTag = mockMvc.perform(get("/polls/{pollId}/options", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        pollManager.deleteUserById(alice.getId());
+
+        mockMvc.perform(get("/polls/{pollId}/options", poll.getId())
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotFound());
+        assertThat(pollManager.getPollVersion(poll.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("GET /polls/{pollId}/results answers 304 until the counts change")
+    void getResults_conditionalRequests() throws Exception {
+        String eTag = mockMvc.perform(get("/polls/{pollId}/results", poll.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/polls/{pollId}/results", poll.getId())
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        VoteOption red = voteOptionRepository.findByPollIdOrderByPresentationOrderAsc(poll.getId()).get(0);
+        mockMvc.perform(post("/polls/{pollId}/votes", poll.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"optionId\":\"" + red.getId() + "\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/polls/{pollId}/results", poll.getId())
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + red.getId() + "']").value(1));
+    }
+
+    @Test
+    @DisplayName("A vote leaves the poll and its ETag unchanged: the counts are in the results")
+    void getPoll_unchangedByVote() throws Exception {
+        String eTag = mockMvc.perform(get("/polls/{pollId}", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.options[0].voteCount").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+
+        VoteOption red = voteOptionRepository.findByPollIdOrderByPresentationOrderAsc(poll.getId()).get(0);
+        mockMvc.perform(post("/polls/{pollId}/votes", poll.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"optionId\":\"" + red.getId() + "\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/polls/{pollId}", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @DisplayName("DELETE /polls/{pollId}/options/{optionId} removes option")
     void deleteOption_deletesOption() throws Exception {
@@ -193,6 +394,57 @@ class PollControllerTest {
                 .andExpect(jsonPath("$[?(@.question=='Which is best?')]").exists());
     }
 
+    @Test
+    @DisplayName("GET /polls/public?status= returns only active or only expired public polls")
+    void getPublicPolls_filtersByStatus() throws Exception {
+        Poll expired = savePoll("Closed?", Instant.now().minusSeconds(7200), true);
+        expired.setValidUntil(Instant.now().minusSeconds(3600));
+        pollRepository.save(expired);
+
+        mockMvc.perform(get("/polls/public").param("status", "active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(poll.getId().toString()));
+
+        mockMvc.perform(get("/polls/public").param("status", "expired"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(expired.getId().toString()));
+
+        mockMvc.perform(get("/polls/public").param("status", "closed"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /polls/public?status=active leaves out polls without options until they get one")
+    void getPublicPolls_activeSkipsPollsWithoutOptions() throws Exception {
+        Poll empty = savePoll("Empty?", Instant.now(), true);
+
+        mockMvc.perform(get("/polls/public").param("status", "active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(poll.getId().toString()));
+        // The page holds no empty poll to filter out, so it ends the listing
+        mockMvc.perform(get("/polls/public").param("status", "active").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        VoteOption yes = new VoteOption();
+        yes.setCaption("Yes");
+        yes.setPresentationOrder(1);
+        mockMvc.perform(post("/polls/{pollId}/options", empty.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(yes)))
+                .andExpect(status().isCreated());
+
+        // The cached first page is dropped when the poll gets its first option
+        mockMvc.perform(get("/polls/public").param("status", "active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
     @Test
     @DisplayName("GET /polls/private/{userId} returns user's private polls")
     void getPrivatePolls_returnsPrivatePolls() throws Exception {
@@ -313,6 +565,16 @@ class PollControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    private Poll savePoll(String question, Instant publishedAt, boolean publicPoll) {
+        Poll other = new Poll();
+        other.setQuestion(question);
+        other.setCreatedBy(alice);
+        other.setPublishedAt(publishedAt);
+        other.setValidUntil(Instant.now().plusSeconds(3600 * 24));
+        other.setPublicPoll(publicPoll);
+        return pollRepository.save(other);
+    }
+
     private String obtainAccessToken(String email) throws Exception {
         // Build login payload
         Map<String, String> loginPayload = Map.of(
@@ -0,0 +1,165 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.CacheKey;
+import com.DAT250Project.PollApp.CacheConfig.RedisCacheService;
+import com.DAT250Project.PollApp.dto.PollResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Number of SQL statements behind each poll read endpoint, with the caches cleared so the
+ * database is hit. The endpoints return DTOs mapped in {@link PollManager}, so serializing them loads nothing.
+ * The counts do not depend on the number of options or votes: a new N+1 fails this test.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class PollFetchPlanQueryCountTest {
+
+    private static final int OPTIONS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private PollManager pollManager;
+    @Autowired
+    private RedisCacheService redisCacheService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private User alice;
+    private Poll poll;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        alice = saveUser("alice");
+
+        poll = new Poll();
+        poll.setQuestion("Which is best?");
+        poll.setCreatedBy(alice);
+        poll.setPublishedAt(Instant.now());
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        poll = pollRepository.save(poll);
+
+        // Every option gets a vote from a different user
+        for (int i = 1; i <= OPTIONS; i++) {
+            VoteOption option = voteOptionRepository.save(new VoteOption("Option " + i, i, poll));
+            voteRepository.save(new Vote(saveUser("voter" + i), option));
+        }
+
+        pollManager.clearAllCache();
+        pollManager.clearPollCache(poll.getId());
+        redisCacheService.invalidate(List.of(CacheKey.of("user_polls", alice.getId())));
+    }
+
+    @Test
+    @DisplayName("Listings read summaries with a single query")
+    void listings_singleQuery() throws Exception {
+        assertThat(countStatements(get("/polls/public"))).isEqualTo(1);
+        assertThat(countStatements(get("/polls/public").param("status", "active"))).isEqualTo(1);
+        assertThat(countStatements(get("/polls/private/{userId}", alice.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Poll detail: poll with creator and options in one query, no votes")
+    void pollDetail_boundedQueries() throws Exception {
+        assertThat(countStatements(get("/polls/{pollId}", poll.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Options of a poll: served from the poll detail, in one query")
+    void pollOptions_boundedQueries() throws Exception {
+        assertThat(countStatements(get("/polls/{pollId}/options", poll.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A conditional request for an unchanged poll is answered without a query")
+    void pollNotModified_noQuery() throws Exception {
+        String eTag = mockMvc.perform(get("/polls/{pollId}", poll.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        // Drop the cached body: the 304 must not depend on it
+        pollManager.clearPollCache(poll.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/polls/{pollId}", poll.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/polls/{pollId}/options", poll.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Polls of a user: existence check, then the polls with options")
+    void userPolls_boundedQueries() throws Exception {
+        assertThat(countStatements(get("/polls/user/{userId}", alice.getId()))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Poll index page: index rebuild, then the missing polls with options")
+    void pollPage_boundedQueries() throws Exception {
+        assertThat(countStatements(get("/polls"))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A poll response is complete and serializes without a session")
+    void pollResponse_detachedFromSession() throws Exception {
+        PollResponse response = pollManager.getPollById(poll.getId());
+
+        assertThat(response.createdBy().username()).isEqualTo("alice");
+        assertThat(response.options()).hasSize(OPTIONS)
+                .allSatisfy(option -> assertThat(option.pollId()).isEqualTo(poll.getId()));
+        assertThat(objectMapper.writeValueAsString(response)).contains("\"voteCount\"").doesNotContain("\"votes\"");
+    }
+
+    // Performs the request and returns the number of prepared statements
+    private long countStatements(RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User saveUser(String username) {
+        User user = new User(username, username + "@example.com");
+        user.setPassword("secret");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,134 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.CacheKey;
+import com.DAT250Project.PollApp.CacheConfig.RedisCacheService;
+import com.DAT250Project.PollApp.dto.PollSummary;
+import com.DAT250Project.PollApp.model.Poll;
+import com.DAT250Project.PollApp.model.User;
+import com.DAT250Project.PollApp.repository.PollRepository;
+import com.DAT250Project.PollApp.repository.UserRepository;
+import com.DAT250Project.PollApp.repository.VoteOptionRepository;
+import com.DAT250Project.PollApp.repository.VoteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the cached public and private poll listings and their tag-based invalidation.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PollListingCacheTest {
+
+    @Autowired
+    private PollManager pollManager;
+    @Autowired
+    private RedisCacheService redisCacheService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+        pollManager.clearAllCache();
+
+        alice = new User("alice", "alice@example.com");
+        alice.setPassword("secret");
+        alice = userRepository.save(alice);
+    }
+
+    @Test
+    @DisplayName("A cached listing is served without a query until a new public poll joins it")
+    void publicListing_cachedUntilPollCreated() {
+        Poll first = createPoll("First?", true);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        assertThat(publicPollIds()).containsExactly(first.getId());
+        statistics.clear();
+        assertThat(publicPollIds()).containsExactly(first.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        Poll second = createPoll("Second?", true);
+
+        assertThat(publicPollIds()).containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    @DisplayName("Changing the privacy of a poll moves it between the cached listings")
+    void updatePollPrivacy_invalidatesBothListings() {
+        Poll poll = createPoll("Private?", false);
+        assertThat(publicPollIds()).isEmpty();
+        assertThat(privatePollIds()).containsExactly(poll.getId());
+
+        pollManager.updatePollPrivacy(poll.getId(), true, alice.getId());
+
+        assertThat(publicPollIds()).containsExactly(poll.getId());
+        assertThat(privatePollIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deleting a poll evicts the listings that show it")
+    void deletePoll_invalidatesListing() {
+        Poll kept = createPoll("Kept?", true);
+        Poll deleted = createPoll("Deleted?", true);
+        assertThat(publicPollIds()).containsExactly(deleted.getId(), kept.getId());
+
+        pollManager.deletePollById(deleted.getId());
+
+        assertThat(publicPollIds()).containsExactly(kept.getId());
+    }
+
+    @Test
+    @DisplayName("A listing loaded before its tag was invalidated is not cached")
+    void staleFill_notStored() {
+        long loadedAt = redisCacheService.tagClock();
+        CacheKey tag = CacheKey.of("poll", UUID.randomUUID());
+
+        redisCacheService.invalidateTags(List.of(tag));
+        redisCacheService.cachePollListing("test:stale", List.of(), List.of(tag), loadedAt, TimeUnit.MINUTES.toMillis(1));
+
+        assertThat(redisCacheService.getPollListing("test:stale")).isNull();
+    }
+
+    private Poll createPoll(String question, boolean publicPoll) {
+        Poll poll = new Poll();
+        poll.setQuestion(question);
+        poll.setPublicPoll(publicPoll);
+        poll.setCreatedBy(alice);
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        return pollManager.createPoll(poll);
+    }
+
+    private List<UUID> publicPollIds() {
+        return pollManager.getPublicPolls(null, null, null).items().stream().map(PollSummary::id).toList();
+    }
+
+    private List<UUID> privatePollIds() {
+        return pollManager.getPrivatePolls(alice.getId(), null, null).items().stream().map(PollSummary::id).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.RefreshAhead;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the probabilistic early reload of cached entries.
+ */
+class RefreshAheadTest {
+
+    @Test
+    @DisplayName("An entry about to expire is reloaded once in the background, however many reads see it")
+    void expiringEntry_reloadedOnce() throws Exception {
+        RefreshAhead refreshAhead = new RefreshAhead(true, 1.0, 50, 2, 100);
+        refreshAhead.expiresIn("poll:1", 1);
+        AtomicInteger reloads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < 100; i++) {
+            refreshAhead.onRead("poll", "poll:1", () -> {
+                reloads.incrementAndGet();
+                awaitQuietly(release);
+                return "reloaded";
+            });
+        }
+        release.countDown();
+
+        Thread.sleep(200);
+        assertThat(reloads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An entry far from expiry is not reloaded")
+    void freshEntry_notReloaded() throws Exception {
+        RefreshAhead refreshAhead = new RefreshAhead(true, 1.0, 50, 2, 100);
+        refreshAhead.expiresIn("poll:1", TimeUnit.MINUTES.toMillis(10));
+        AtomicInteger reloads = new AtomicInteger();
+
+        for (int i = 0; i < 1000; i++) {
+            refreshAhead.onRead("poll", "poll:1", reloads::incrementAndGet);
+        }
+
+        Thread.sleep(100);
+        assertThat(reloads.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Entries without a known expiry, or with refresh-ahead disabled, are never reloaded")
+    void unknownExpiryOrDisabled_notReloaded() throws Exception {
+        RefreshAhead refreshAhead = new RefreshAhead(true, 1.0, 50, 2, 100);
+        RefreshAhead disabled = new RefreshAhead(false, 1.0, 50, 2, 100);
+        disabled.expiresIn("poll:1", 1);
+        AtomicInteger reloads = new AtomicInteger();
+
+        refreshAhead.onRead("poll", "poll:2", reloads::incrementAndGet);
+        disabled.onRead("poll", "poll:1", reloads::incrementAndGet);
+
+        Thread.sleep(100);
+        assertThat(reloads.get()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that every query method declared on the repositories is served by an index.
+ * <p>
+ * Each method is called with placeholder arguments, the SQL Hibernate generated for it is captured
+ * by {@link SqlCapture}, and H2's {@code EXPLAIN} of that SQL must not contain a {@code tableScan}.
+ * A new finder without a matching {@code @Index} on its entity fails this test.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.DAT250Project.PollApp.SqlCapture")
+class RepositoryQueryPlanTest {
+
+    private static final int SEED_ROWS = 100;
+
+    // Methods that read a whole table on purpose (index rebuild, vote counter reconciliation)
+    private static final Set<String> FULL_READS = Set.of(
+            "PollRepository.findIndexEntries",
+            "VoteOptionRepository.findVoteCountDrift");
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM votes");
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        // Enough rows that H2 weighs an index against a scan like it would in production
+        Instant now = Instant.now();
+        for (int i = 0; i < SEED_ROWS; i++) {
+            User user = new User("user" + i, "user" + i + "@example.com");
+            user.setPassword("secret");
+            user = userRepository.save(user);
+
+            Poll poll = new Poll();
+            poll.setQuestion("Question " + i);
+            poll.setPublishedAt(now.minus(Duration.ofMinutes(i)));
+            poll.setValidUntil(now.plus(Duration.ofDays(i % 2 == 0 ? 1 : -1)));
+            poll.setPublicPoll(i % 2 == 0);
+            poll.setCreatedBy(user);
+            poll = pollRepository.save(poll);
+
+            VoteOption option = voteOptionRepository.save(new VoteOption("Yes", 1, poll));
+            voteRepository.save(new Vote(user, option));
+        }
+    }
+
+    @Test
+    @DisplayName("Every repository finder is planned on an index, not a table scan")
+    void repositoryQueries_useIndexes() throws Exception {
+        List<String> scans = new ArrayList<>();
+        scans.addAll(tableScans(PollRepository.class, pollRepository));
+        scans.addAll(tableScans(VoteRepository.class, voteRepository));
+        scans.addAll(tableScans(UserRepository.class, userRepository));
+        scans.addAll(tableScans(VoteOptionRepository.class, voteOptionRepository));
+
+        assertThat(scans).as("queries planned on a table scan").isEmpty();
+    }
+
+    @Test
+    @DisplayName("The keyset pages of the votes of a poll are planned on the poll_id index")
+    void votePollPages_usePollIndex() throws Exception {
+        List<Runnable> pages = List.of(
+                () -> voteRepository.findPollPage(UUID.randomUUID(), Limit.of(10)),
+                () -> voteRepository.findPollPageAfter(UUID.randomUUID(), Instant.now(), UUID.randomUUID(), Limit.of(10)));
+        for (Runnable page : pages) {
+            SqlCapture.clear();
+            page.run();
+            assertThat(SqlCapture.statements()).isNotEmpty();
+            for (String sql : SqlCapture.statements()) {
+                assertThat(explain(sql)).containsIgnoringCase("idx_votes_poll_published");
+            }
+        }
+    }
+
+    // Calls every method declared on the repository interface and returns "method: plan" for each table scan
+    private List<String> tableScans(Class<?> repositoryType, Object repository) throws Exception {
+        List<String> scans = new ArrayList<>();
+        Method[] methods = repositoryType.getDeclaredMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        for (Method method : methods) {
+            String name = repositoryType.getSimpleName() + "." + method.getName();
+            if (FULL_READS.contains(name)) {
+                continue;
+            }
+            SqlCapture.clear();
+            try {
+                method.invoke(repository, placeholderArguments(method));
+            } catch (InvocationTargetException e) {
+                throw new AssertionError(name + " failed", e.getCause());
+            }
+            List<String> statements = SqlCapture.statements();
+            assertThat(statements).as(name + " issued no SQL").isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (plan.contains(".tableScan")) {
+                    scans.add(name + ": " + plan);
+                }
+            }
+        }
+        return scans;
+    }
+
+    private static Object[] placeholderArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            arguments[i] = placeholder(method, types[i]);
+        }
+        return arguments;
+    }
+
+    private static Object placeholder(Method method, Class<?> type) {
+        if (type == UUID.class) {
+            return UUID.randomUUID();
+        }
+        if (type == Instant.class) {
+            return Instant.now();
+        }
+        if (type == String.class) {
+            return "x";
+        }
+        if (type == long.class || type == Long.class) {
+            return 1L;
+        }
+        if (type == int.class || type == Integer.class) {
+            return 1;
+        }
+        if (type == Collection.class) {
+            return List.of(UUID.randomUUID());
+        }
+        if (type == Limit.class) {
+            return Limit.of(10);
+        }
+        throw new AssertionError("No placeholder for " + type.getSimpleName() + " in " + method.getName());
+    }
+
+    // The plan H2 chooses for the statement; parameters are bound to NULL since only the plan is read
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1));
+                }
+                return text.toString();
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.live.ResultsDeltaPublisher;
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import com.DAT250Project.PollApp.tally.TallyEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the WebSocket (STOMP) delta fan-out of live results.
+ * The scheduled flush and snapshot jobs are pushed out of the way so each test decides when frames are sent.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.results.ws.interval-ms=3600000",
+        "app.results.ws.snapshot-interval-ms=3600000"
+})
+class ResultsDeltaPublisherTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ResultsDeltaPublisher resultsDeltaPublisher;
+    @Autowired
+    private PollManager pollManager;
+    @Autowired
+    private TallyEngine tallyEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private Poll poll;
+    private VoteOption red;
+    private VoteOption blue;
+
+    private WebSocketStompClient stompClient;
+    private StompSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User alice = new User("alice", "alice@example.com");
+        alice.setPassword("secret");
+        alice = userRepository.save(alice);
+
+        poll = new Poll();
+        poll.setQuestion("Pick one");
+        poll.setPublishedAt(Instant.now());
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        poll.setCreatedBy(alice);
+        poll = pollRepository.save(poll);
+
+        red = voteOptionRepository.save(new VoteOption("Red", 1, poll));
+        blue = voteOptionRepository.save(new VoteOption("Blue", 2, poll));
+
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {})
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.disconnect();
+        stompClient.stop();
+    }
+
+    @Test
+    @DisplayName("Subscribers get a snapshot, then only the changed options as a versioned delta")
+    void subscribers_receiveSnapshotThenDeltas() throws Exception {
+        BlockingQueue<Map<String, Object>> topicFrames = new LinkedBlockingQueue<>();
+        BlockingQueue<Map<String, Object>> snapshots = new LinkedBlockingQueue<>();
+        session.subscribe(ResultsDeltaPublisher.topic(poll.getId()), collectInto(topicFrames));
+        session.subscribe("/app/polls/" + poll.getId() + "/results", collectInto(snapshots));
+
+        Map<String, Object> snapshot = snapshots.poll(5, TimeUnit.SECONDS);
+        assertThat(snapshot).isNotNull();
+        assertThat(snapshot).containsEntry("type", "snapshot").containsEntry("version", 0);
+        assertThat(resultsDeltaPublisher.watcherCount(poll.getId())).isEqualTo(1);
+
+        pollManager.createVote(poll.getId(), null, red.getId());
+        pollManager.createVote(poll.getId(), null, red.getId());
+        pollManager.createVote(poll.getId(), null, blue.getId());
+        resultsDeltaPublisher.flush();
+
+        Map<String, Object> delta = topicFrames.poll(5, TimeUnit.SECONDS);
+        assertThat(delta).isNotNull();
+        assertThat(delta).containsEntry("type", "delta").containsEntry("version", 1);
+        assertThat(delta.get("changes")).isEqualTo(Map.of(red.getId().toString(), 2, blue.getId().toString(), 1));
+
+        // Nothing changed since: no frame
+        resultsDeltaPublisher.flush();
+        assertThat(topicFrames.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Adding an option sends a new snapshot instead of a delta")
+    void optionChange_sendsSnapshot() throws Exception {
+        BlockingQueue<Map<String, Object>> topicFrames = new LinkedBlockingQueue<>();
+        BlockingQueue<Map<String, Object>> snapshots = new LinkedBlockingQueue<>();
+        session.subscribe(ResultsDeltaPublisher.topic(poll.getId()), collectInto(topicFrames));
+        session.subscribe("/app/polls/" + poll.getId() + "/results", collectInto(snapshots));
+        assertThat(snapshots.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+        VoteOption green = new VoteOption();
+        green.setCaption("Green");
+        green.setPresentationOrder(3);
+        pollManager.addOptionToPoll(poll.getId(), green);
+        resultsDeltaPublisher.flush();
+
+        Map<String, Object> frame = topicFrames.poll(5, TimeUnit.SECONDS);
+        assertThat(frame).isNotNull();
+        assertThat(frame).containsEntry("type", "snapshot").containsEntry("version", 1);
+        assertThat(frame.toString()).contains("Green");
+    }
+
+    @Test
+    @DisplayName("A watched poll keeps its tally across checkpoints, so later votes are still sent")
+    void checkpoints_keepWatchedTally() throws Exception {
+        BlockingQueue<Map<String, Object>> topicFrames = new LinkedBlockingQueue<>();
+        BlockingQueue<Map<String, Object>> snapshots = new LinkedBlockingQueue<>();
+        session.subscribe(ResultsDeltaPublisher.topic(poll.getId()), collectInto(topicFrames));
+        session.subscribe("/app/polls/" + poll.getId() + "/results", collectInto(snapshots));
+        assertThat(snapshots.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+        pollManager.createVote(poll.getId(), null, red.getId());
+        resultsDeltaPublisher.flush();
+        assertThat(topicFrames.poll(5, TimeUnit.SECONDS)).containsEntry("type", "delta").containsEntry("version", 1);
+
+        // Nobody reads the results over HTTP: only the flushes keep the tally loaded
+        tallyEngine.checkpoint();
+        resultsDeltaPublisher.flush();
+        tallyEngine.checkpoint();
+
+        pollManager.createVote(poll.getId(), null, blue.getId());
+        resultsDeltaPublisher.flush();
+
+        Map<String, Object> delta = topicFrames.poll(5, TimeUnit.SECONDS);
+        assertThat(delta).isNotNull();
+        assertThat(delta).containsEntry("type", "delta").containsEntry("version", 2);
+        assertThat(delta.get("changes")).isEqualTo(Map.of(blue.getId().toString(), 1));
+    }
+
+    private static StompFrameHandler collectInto(BlockingQueue<Map<String, Object>> frames) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void handleFrame(StompHeaders headers, Object payload) {
+                frames.add((Map<String, Object>) payload);
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.live.ResultsStreamService;
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the Server-Sent Events results stream.
+ * The scheduled flush is pushed out of the way so each test decides when frames are sent.
+ */
+@SpringBootTest(properties = "app.results.stream.interval-ms=3600000")
+@AutoConfigureMockMvc
+class ResultsStreamServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ResultsStreamService resultsStreamService;
+    @Autowired
+    private PollManager pollManager;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private Poll poll;
+    private VoteOption red;
+    private VoteOption blue;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User alice = new User("alice", "alice@example.com");
+        alice.setPassword("secret");
+        alice = userRepository.save(alice);
+
+        poll = new Poll();
+        poll.setQuestion("Pick one");
+        poll.setPublishedAt(Instant.now());
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        poll.setCreatedBy(alice);
+        poll = pollRepository.save(poll);
+
+        red = voteOptionRepository.save(new VoteOption("Red", 1, poll));
+        blue = voteOptionRepository.save(new VoteOption("Blue", 2, poll));
+    }
+
+    @Test
+    @DisplayName("GET /polls/{pollId}/results/stream sends the current results, then one frame per burst of votes")
+    void stream_sendsSnapshotThenCoalescedFrames() throws Exception {
+        MvcResult first = mockMvc.perform(get("/polls/{pollId}/results/stream", poll.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult second = mockMvc.perform(get("/polls/{pollId}/results/stream", poll.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(resultsStreamService.subscriberCount(poll.getId())).isEqualTo(2);
+        assertThat(frames(first)).isEqualTo(1);
+        assertThat(first.getResponse().getContentAsString()).contains("\"totalVotes\":0");
+
+        pollManager.createVote(poll.getId(), null, red.getId());
+        pollManager.createVote(poll.getId(), null, red.getId());
+        pollManager.createVote(poll.getId(), null, blue.getId());
+        resultsStreamService.flush();
+
+        // Three votes, one frame per subscriber (written by the send pool)
+        for (MvcResult stream : new MvcResult[]{first, second}) {
+            awaitFrames(stream, 2);
+            assertThat(frames(stream)).isEqualTo(2);
+            assertThat(stream.getResponse().getContentAsString()).contains("\"totalVotes\":3");
+        }
+
+        // Nothing changed: nothing is sent
+        resultsStreamService.flush();
+        assertThat(frames(first)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /polls/{pollId}/results/stream returns 404 for an unknown poll")
+    void stream_unknownPoll() throws Exception {
+        mockMvc.perform(get("/polls/{pollId}/results/stream", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private static void awaitFrames(MvcResult result, int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (frames(result) < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static int frames(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString().split("event:results", -1).length - 1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.SingleFlight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the per-key single-flight loader used by the cache-aside reads.
+ */
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    @DisplayName("Concurrent misses of the same key run the loader once and share its result")
+    void load_runsLoaderOncePerKey() throws Exception {
+        int callers = 32;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.load("poll:1", () -> {
+                    loads.incrementAndGet();
+                    loaderStarted.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "poll";
+                })));
+            }
+
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(200); // let the other callers reach the in-flight load
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("poll");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("A finished load is not reused: the next miss loads again")
+    void load_doesNotCacheResults() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.load("poll:1", loads::incrementAndGet);
+        singleFlight.load("poll:1", loads::incrementAndGet);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A failing loader rethrows to the caller and frees the key")
+    void load_propagatesFailures() {
+        assertThatThrownBy(() -> singleFlight.load("poll:1", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(singleFlight.<String>load("poll:1", () -> "poll")).isEqualTo("poll");
+    }
+}
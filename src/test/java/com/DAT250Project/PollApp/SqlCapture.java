@@ -0,0 +1,32 @@
+package com.DAT250Project.PollApp;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate statement inspector recording every SQL statement it sees, so tests can inspect
+ * the SQL a repository method produced. Enabled per test through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    /** Returns the statements recorded since the last {@link #clear()}. */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    /** Forgets the recorded statements. */
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+}
@@ -0,0 +1,174 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.CacheConfig.RedisCacheService;
+import com.DAT250Project.PollApp.dto.PollResults;
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import com.DAT250Project.PollApp.tally.TallyEngine;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the in-memory live tally of poll results.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TallyEngineTest {
+
+    @Autowired
+    private TallyEngine tallyEngine;
+    @Autowired
+    private PollManager pollManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private RedisCacheService redisCacheService;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private Poll poll;
+    private VoteOption red;
+    private VoteOption blue;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User alice = new User("alice", "alice@example.com");
+        alice.setPassword("secret");
+        alice = userRepository.save(alice);
+
+        poll = new Poll();
+        poll.setQuestion("Pick one");
+        poll.setPublishedAt(Instant.now());
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        poll.setCreatedBy(alice);
+        poll = pollRepository.save(poll);
+
+        red = voteOptionRepository.save(new VoteOption("Red", 1, poll));
+        blue = voteOptionRepository.save(new VoteOption("Blue", 2, poll));
+    }
+
+    @Test
+    @DisplayName("getResults() serves a loaded poll without touching the database")
+    void getResults_servesFromMemory() {
+        tallyEngine.getResults(poll.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PollResults results = tallyEngine.getResults(poll.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(results.options()).extracting("caption").containsExactly("Red", "Blue");
+        assertThat(results.totalVotes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Votes cast through PollManager update a loaded tally")
+    void votes_updateLoadedTally() {
+        tallyEngine.getResults(poll.getId());
+
+        pollManager.createVote(poll.getId(), null, red.getId());
+        pollManager.createVote(poll.getId(), null, red.getId());
+        pollManager.createVote(poll.getId(), null, blue.getId());
+
+        PollResults results = tallyEngine.getResults(poll.getId());
+        assertThat(results.totalVotes()).isEqualTo(3);
+        assertThat(results.options().get(0).voteCount()).isEqualTo(2);
+        assertThat(results.options().get(1).voteCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Votes increment the shared Redis results hash instead of invalidating it")
+    void votes_incrementResultsHash() {
+        tallyEngine.getResults(poll.getId());
+        assertThat(redisCacheService.getPollResults(poll.getId()))
+                .containsEntry(red.getId(), 0L).containsEntry(blue.getId(), 0L);
+
+        pollManager.createVote(poll.getId(), null, red.getId());
+
+        assertThat(redisCacheService.getPollResults(poll.getId()))
+                .containsEntry(red.getId(), 1L).containsEntry(blue.getId(), 0L);
+    }
+
+    @Test
+    @DisplayName("checkpoint() picks up votes counted by other nodes and drops idle tallies")
+    void checkpoint_refreshesAndEvicts() {
+        tallyEngine.getResults(poll.getId());
+
+        // A vote handled on another node only reaches this one through the results hash
+        redisCacheService.incrementPollResult(poll.getId(), red.getId(), 5);
+        assertThat(tallyEngine.getResults(poll.getId()).totalVotes()).isZero();
+        tallyEngine.checkpoint();
+        assertThat(tallyEngine.getResults(poll.getId()).totalVotes()).isEqualTo(5);
+
+        // Two checkpoints without reads drop the tally; the next read hydrates it from the hash again
+        tallyEngine.checkpoint();
+        tallyEngine.checkpoint();
+        redisCacheService.incrementPollResult(poll.getId(), blue.getId(), 1);
+        assertThat(tallyEngine.getResults(poll.getId()).totalVotes()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Seeding the results hash adds the counters to the votes counted meanwhile")
+    void seeding_keepsConcurrentIncrements() {
+        assertThat(redisCacheService.beginPollResultsSeed(poll.getId())).isTrue();
+        assertThat(redisCacheService.beginPollResultsSeed(poll.getId())).isFalse();
+
+        // A vote committed after the counters were read is only in the hash, which is not readable yet
+        redisCacheService.incrementPollResult(poll.getId(), red.getId(), 1);
+        assertThat(redisCacheService.getPollResults(poll.getId())).isEmpty();
+
+        assertThat(redisCacheService.finishPollResultsSeed(poll.getId(), Map.of(red.getId(), 2L, blue.getId(), 0L)))
+                .isTrue();
+        assertThat(redisCacheService.getPollResults(poll.getId()))
+                .containsEntry(red.getId(), 3L).containsEntry(blue.getId(), 0L);
+        assertThat(tallyEngine.getResults(poll.getId()).totalVotes()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("A hash missing an option gets it from the counters without losing the counted votes")
+    void missingOption_filledWithoutOverwrite() {
+        tallyEngine.getResults(poll.getId());
+        pollManager.createVote(poll.getId(), null, red.getId());
+
+        VoteOption green = voteOptionRepository.save(new VoteOption("Green", 3, poll));
+        green.setVoteCount(4);
+        voteOptionRepository.save(green);
+        redisCacheService.incrementPollResult(poll.getId(), red.getId(), 1); // a vote counted on another node
+        tallyEngine.evict(poll.getId());
+
+        assertThat(redisCacheService.getPollResults(poll.getId())).doesNotContainKey(green.getId());
+        PollResults results = tallyEngine.getResults(poll.getId());
+
+        assertThat(results.options()).extracting("voteCount").containsExactly(2L, 0L, 4L);
+    }
+
+    @Test
+    @DisplayName("getResults() returns null for an unknown poll")
+    void getResults_unknownPoll() {
+        assertThat(tallyEngine.getResults(UUID.randomUUID())).isNull();
+    }
+}
@@ -103,6 +103,30 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[?(@.username=='alice')]").exists());
     }
 
+    @Test
+    @DisplayName("GET /users pages through users with a cursor")
+    void getAllUsers_pagesWithCursor() throws Exception {
+        for (String name : List.of("bob", "carol")) {
+            User user = new User(name, name + "@example.com");
+            user.setPassword("secret");
+            userRepository.save(user);
+        }
+
+        String cursor = mockMvc.perform(get("/users").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/users").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        mockMvc.perform(get("/users").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /users creates a new user")
     void createUser_createsUser() throws Exception {
@@ -152,7 +176,7 @@ class UserControllerTest {
                         .header("Authorization", "Bearer " + jwtToken))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].voter.id").value(alice.getId().toString()));
+                .andExpect(jsonPath("$[0].voterId").value(alice.getId().toString()));
     }
 
     @Test
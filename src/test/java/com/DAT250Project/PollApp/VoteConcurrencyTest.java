@@ -0,0 +1,134 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test for the one-vote-per-user-per-poll rule: many parallel votes of the same user
+ * race on the same poll, and the unique index must let exactly one of them through.
+ */
+@SpringBootTest
+class VoteConcurrencyTest {
+
+    private static final int PARALLEL_VOTES = 32;
+
+    @Autowired
+    private PollManager pollManager;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private User alice;
+    private Poll poll;
+    private VoteOption red;
+    private VoteOption blue;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        alice = new User("alice", "alice@example.com");
+        alice.setPassword("secret");
+        alice = userRepository.save(alice);
+
+        poll = new Poll();
+        poll.setQuestion("Pick one");
+        poll.setPublishedAt(Instant.now());
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        poll.setCreatedBy(alice);
+        poll = pollRepository.save(poll);
+
+        red = voteOptionRepository.save(new VoteOption("Red", 1, poll));
+        blue = voteOptionRepository.save(new VoteOption("Blue", 2, poll));
+    }
+
+    @Test
+    @DisplayName("parallel duplicate votes of one user result in exactly one stored vote")
+    void parallelDuplicateVotes_onlyOneSucceeds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_VOTES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Vote>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < PARALLEL_VOTES; i++) {
+                // Alternate the options so the duplicates are not identical rows
+                VoteOption option = i % 2 == 0 ? red : blue;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return pollManager.createVote(poll.getId(), alice.getId(), option.getId());
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<Vote> result : results) {
+                try {
+                    if (result.get(30, TimeUnit.SECONDS) != null) {
+                        created++;
+                    }
+                } catch (ExecutionException e) {
+                    // A losing insert may also surface as a lock/concurrency error, never as anything else
+                    assertThat(e.getCause()).isInstanceOf(DataAccessException.class);
+                }
+            }
+
+            assertThat(created).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(voteRepository.findByVoter_Id(alice.getId())).hasSize(1);
+        long totalCount = voteOptionRepository.findById(red.getId()).orElseThrow().getVoteCount()
+                + voteOptionRepository.findById(blue.getId()).orElseThrow().getVoteCount();
+        assertThat(totalCount).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("parallel anonymous votes are all accepted")
+    void parallelAnonymousVotes_allSucceed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_VOTES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Vote>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < PARALLEL_VOTES; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return pollManager.createVote(poll.getId(), null, red.getId());
+                }));
+            }
+            start.countDown();
+
+            for (Future<Vote> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(voteRepository.count()).isEqualTo(PARALLEL_VOTES);
+        assertThat(voteOptionRepository.findById(red.getId()).orElseThrow().getVoteCount()).isEqualTo(PARALLEL_VOTES);
+    }
+}
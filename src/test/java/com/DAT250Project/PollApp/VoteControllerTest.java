@@ -83,6 +83,8 @@ class VoteControllerTest {
 
         // seed vote (Alice votes Red)
         aliceVote = voteRepository.save(new Vote(alice, red));
+        // keep the denormalized counter in sync with the seeded vote
+        voteOptionRepository.incrementVoteCount(red.getId());
 
         // Obtain JWT token for alice
         jwtToken = obtainAccessToken(alice.getEmail());
@@ -92,8 +94,13 @@ class VoteControllerTest {
     @Test
     @DisplayName("POST /polls/{pollId}/votes creates a vote")
     void createVote_createsVote() throws Exception {
+        // Alice already voted in setUp, so a second user casts the new vote
+        User bob = new User("bob", "bob@example.com");
+        bob.setPassword(new BCryptPasswordEncoder().encode("password123"));
+        bob = userRepository.save(bob);
+
         Vote request = new Vote();
-        request.setVoterId(alice.getId());
+        request.setVoterId(bob.getId());
         request.setOptionId(blue.getId());
 
         mockMvc.perform(post("/polls/{pollId}/votes", poll.getId())
@@ -102,7 +109,25 @@ class VoteControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.optionId").value(blue.getId().toString()))
-                .andExpect(jsonPath("$.voter.id").value(alice.getId().toString()));
+                .andExpect(jsonPath("$.pollId").value(poll.getId().toString()))
+                .andExpect(jsonPath("$.voterId").value(bob.getId().toString()));
+    }
+
+    @Test
+    @DisplayName("POST /polls/{pollId}/votes returns 409 when the user already voted in the poll")
+    void createVote_secondVoteInPollReturnsConflict() throws Exception {
+        Vote request = new Vote();
+        request.setVoterId(alice.getId());
+        request.setOptionId(blue.getId());
+
+        mockMvc.perform(post("/polls/{pollId}/votes", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+
+        assertThat(voteRepository.count()).isEqualTo(1);
+        assertThat(voteOptionRepository.findById(blue.getId()).orElseThrow().getVoteCount()).isZero();
     }
 
     @Test
@@ -132,6 +157,33 @@ class VoteControllerTest {
                 .andExpect(jsonPath("$.length()").value(1));
     }
 
+    @Test
+    @DisplayName("GET /polls/{pollId}/results counts votes per option")
+    void getPollResults_countsVotesPerOption() throws Exception {
+        mockMvc.perform(get("/polls/{pollId}/results", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + red.getId() + "']").value(1))
+                .andExpect(jsonPath("$['" + blue.getId() + "']").value(0));
+    }
+
+    @Test
+    @DisplayName("PUT /polls/{pollId}/votes moves the vote between option counters")
+    void updateVote_movesVoteCount() throws Exception {
+        Vote updateReq = new Vote();
+        updateReq.setVoterId(alice.getId());
+        updateReq.setOptionId(blue.getId());
+
+        mockMvc.perform(put("/polls/{pollId}/votes", poll.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateReq)))
+                .andExpect(status().isOk());
+
+        assertThat(voteOptionRepository.findById(red.getId()).orElseThrow().getVoteCount()).isZero();
+        assertThat(voteOptionRepository.findById(blue.getId()).orElseThrow().getVoteCount()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("GET /votes/{voteId} returns a vote")
     void getVoteById_returnsVote() throws Exception {
@@ -182,7 +234,7 @@ class VoteControllerTest {
                         .content(objectMapper.writeValueAsString(voteRequest)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.optionId").value(option.getId().toString()))
-                .andExpect(jsonPath("$.voter").doesNotExist()); // Should be null for anonymous
+                .andExpect(jsonPath("$.voterId").doesNotExist()); // Should be null for anonymous
     }
 
     private String obtainAccessToken(String email) throws Exception {
@@ -0,0 +1,108 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.dto.VoteCountDrift;
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import com.DAT250Project.PollApp.tally.VoteCountReconciler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the job that recomputes the denormalized vote counters from the votes table.
+ */
+@SpringBootTest
+class VoteCountReconcilerTest {
+
+    @Autowired
+    private VoteCountReconciler voteCountReconciler;
+    @Autowired
+    private PollManager pollManager;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private Poll poll;
+    private VoteOption red;
+    private VoteOption blue;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User alice = new User("alice", "alice@example.com");
+        alice.setPassword("secret");
+        alice = userRepository.save(alice);
+
+        poll = new Poll();
+        poll.setQuestion("Pick one");
+        poll.setPublishedAt(Instant.now());
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        poll.setCreatedBy(alice);
+        poll = pollRepository.save(poll);
+
+        red = voteOptionRepository.save(new VoteOption("Red", 1, poll));
+        blue = voteOptionRepository.save(new VoteOption("Blue", 2, poll));
+
+        // Votes written directly (bypassing PollManager) leave the counters at 0
+        voteRepository.save(new Vote(alice, red));
+        voteRepository.save(new Vote(null, red));
+    }
+
+    @Test
+    @DisplayName("reconcile() reports and fixes drifted counters")
+    void reconcile_fixesDriftedCounters() {
+        List<VoteCountDrift> drifts = voteCountReconciler.reconcile();
+
+        assertThat(drifts).hasSize(1);
+        assertThat(drifts.get(0).optionId()).isEqualTo(red.getId());
+        assertThat(drifts.get(0).storedCount()).isZero();
+        assertThat(drifts.get(0).actualCount()).isEqualTo(2);
+
+        assertThat(voteOptionRepository.findById(red.getId()).orElseThrow().getVoteCount()).isEqualTo(2);
+        assertThat(voteOptionRepository.findById(blue.getId()).orElseThrow().getVoteCount()).isZero();
+
+        // A second run finds nothing to correct
+        assertThat(voteCountReconciler.reconcile()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Votes created, moved and deleted through PollManager keep the counters exact")
+    void pollManagerWrites_leaveNoDrift() {
+        voteCountReconciler.reconcile();
+        User bob = new User("bob", "bob@example.com");
+        bob.setPassword("secret");
+        bob = userRepository.save(bob);
+        User carol = new User("carol", "carol@example.com");
+        carol.setPassword("secret");
+        carol = userRepository.save(carol);
+
+        pollManager.createVote(poll.getId(), bob.getId(), red.getId());
+        Vote carolVote = pollManager.createVote(poll.getId(), carol.getId(), red.getId());
+        // Rejected by the unique index: the counter is not touched either
+        assertThat(pollManager.createVote(poll.getId(), bob.getId(), blue.getId())).isNull();
+        pollManager.updateVote(poll.getId(), bob.getId(), blue.getId());
+        pollManager.deleteVoteById(carolVote.getId());
+        pollManager.deleteUserById(bob.getId());
+
+        assertThat(voteCountReconciler.reconcile()).isEmpty();
+        assertThat(voteOptionRepository.findById(red.getId()).orElseThrow().getVoteCount()).isEqualTo(2);
+        assertThat(voteOptionRepository.findById(blue.getId()).orElseThrow().getVoteCount()).isZero();
+    }
+}
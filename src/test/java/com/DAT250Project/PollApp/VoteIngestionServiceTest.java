@@ -0,0 +1,100 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the write-behind vote ingestion mode: votes are acknowledged first
+ * and written later by the background writer in batches.
+ */
+@SpringBootTest(properties = {
+        "app.votes.ingestion.mode=write-behind",
+        "app.votes.ingestion.batch-size=50",
+        "app.votes.ingestion.flush-interval-ms=20",
+        "app.votes.ingestion.journal-dir=build/vote-journal-test",
+        "app.votes.ingestion.journal-fsync=false"
+})
+class VoteIngestionServiceTest {
+
+    @Autowired
+    private PollManager pollManager;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private User alice;
+    private Poll poll;
+    private VoteOption red;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        alice = new User("alice", "alice@example.com");
+        alice.setPassword("secret");
+        alice = userRepository.save(alice);
+
+        poll = new Poll();
+        poll.setQuestion("Pick one");
+        poll.setPublishedAt(Instant.now());
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        poll.setCreatedBy(alice);
+        poll = pollRepository.save(poll);
+
+        red = voteOptionRepository.save(new VoteOption("Red", 1, poll));
+    }
+
+    @Test
+    @DisplayName("queued votes are acknowledged and then written in batches")
+    void queuedVotes_areWrittenByBackgroundWriter() throws Exception {
+        assertThat(pollManager.isWriteBehindVoting()).isTrue();
+
+        for (int i = 0; i < 120; i++) {
+            Vote acknowledged = pollManager.createVote(poll.getId(), null, red.getId());
+            assertThat(acknowledged).isNotNull();
+            assertThat(acknowledged.getId()).isNotNull();
+        }
+
+        waitForVotes(120);
+        assertThat(voteRepository.count()).isEqualTo(120);
+        assertThat(voteOptionRepository.findById(red.getId()).orElseThrow().getVoteCount()).isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("a second vote of the same user is rejected while the first is still queued")
+    void duplicateQueuedVote_isRejected() throws Exception {
+        Vote first = pollManager.createVote(poll.getId(), alice.getId(), red.getId());
+        Vote second = pollManager.createVote(poll.getId(), alice.getId(), red.getId());
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNull();
+
+        waitForVotes(1);
+        assertThat(voteRepository.count()).isEqualTo(1);
+    }
+
+    private void waitForVotes(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (voteRepository.count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.ingestion.PendingVote;
+import com.DAT250Project.PollApp.ingestion.VoteJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the file journal of write-behind votes.
+ */
+class VoteJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Votes not completed before the journal closes are recovered by the next one")
+    void uncompletedVotes_recovered() {
+        PendingVote written = vote(UUID.randomUUID());
+        PendingVote queued = vote(null);
+        try (VoteJournal journal = new VoteJournal(directory, 1 << 20, false)) {
+            journal.append(written);
+            journal.append(queued);
+            journal.completed(List.of(written));
+        }
+
+        try (VoteJournal journal = new VoteJournal(directory, 1 << 20, false)) {
+            // The segment is kept whole: the caller skips the votes that were written
+            assertThat(journal.recover()).containsExactly(written, queued);
+            journal.deleteRecovered();
+        }
+
+        try (VoteJournal journal = new VoteJournal(directory, 1 << 20, false)) {
+            assertThat(journal.recover()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Full segments are deleted once all their votes are completed")
+    void completedSegments_deleted() throws IOException {
+        try (VoteJournal journal = new VoteJournal(directory, 1, false)) {
+            PendingVote first = vote(null);
+            PendingVote second = vote(null);
+            journal.append(first);
+            journal.append(second); // starts a new segment
+            assertThat(segmentCount()).isEqualTo(2);
+
+            journal.completed(List.of(first));
+
+            assertThat(segmentCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Two journals never share a directory")
+    void directory_locked() {
+        try (VoteJournal journal = new VoteJournal(directory, 1 << 20, false)) {
+            assertThatThrownBy(() -> new VoteJournal(directory, 1 << 20, false))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).count();
+        }
+    }
+
+    private static PendingVote vote(UUID voterId) {
+        return new PendingVote(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), voterId,
+                Instant.ofEpochSecond(1_700_000_000L, 123_456_789));
+    }
+}
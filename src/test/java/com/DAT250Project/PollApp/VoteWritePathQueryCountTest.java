@@ -0,0 +1,143 @@
+package com.DAT250Project.PollApp;
+
+import com.DAT250Project.PollApp.model.*;
+import com.DAT250Project.PollApp.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression test for the vote write path: casting or deleting a vote must issue the same
+ * (small) number of SQL statements whether the poll has no votes or 100k votes, and must
+ * never initialize the User.votes / VoteOption.votes collections.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class VoteWritePathQueryCountTest {
+
+    private static final int LARGE_POLL_VOTES = 100_000;
+
+    @Autowired
+    private PollManager pollManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PollRepository pollRepository;
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private User bob;
+    private Poll smallPoll;
+    private VoteOption smallOption;
+    private Poll largePoll;
+    private VoteOption largeOption;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM votes");
+        voteOptionRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User alice = new User("alice", "alice@example.com");
+        alice.setPassword("secret");
+        alice = userRepository.save(alice);
+
+        bob = new User("bob", "bob@example.com");
+        bob.setPassword("secret");
+        bob = userRepository.save(bob);
+
+        smallPoll = savePoll("Small poll", alice);
+        smallOption = voteOptionRepository.save(new VoteOption("Yes", 1, smallPoll));
+
+        largePoll = savePoll("Large poll", alice);
+        largeOption = voteOptionRepository.save(new VoteOption("Yes", 1, largePoll));
+        seedAnonymousVotes(largeOption, LARGE_POLL_VOTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Remove the seeded votes with one statement so other tests do not load them as entities
+        jdbcTemplate.update("DELETE FROM votes");
+    }
+
+    @Test
+    @DisplayName("createVote issues a constant number of statements regardless of poll size")
+    void createVote_constantStatementCount() {
+        long small = countStatements(() -> pollManager.createVote(smallPoll.getId(), bob.getId(), smallOption.getId()));
+        long large = countStatements(() -> pollManager.createVote(largePoll.getId(), bob.getId(), largeOption.getId()));
+
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(6);
+        assertThat(voteOptionRepository.findById(largeOption.getId()).orElseThrow().getVoteCount())
+                .isEqualTo(LARGE_POLL_VOTES + 1);
+    }
+
+    @Test
+    @DisplayName("deleteVoteById issues a constant number of statements regardless of poll size")
+    void deleteVote_constantStatementCount() {
+        Vote smallVote = pollManager.createVote(smallPoll.getId(), bob.getId(), smallOption.getId());
+        Vote largeVote = pollManager.createVote(largePoll.getId(), bob.getId(), largeOption.getId());
+
+        long small = countStatements(() -> pollManager.deleteVoteById(smallVote.getId()));
+        long large = countStatements(() -> pollManager.deleteVoteById(largeVote.getId()));
+
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(6);
+        assertThat(voteRepository.findById(largeVote.getId())).isEmpty();
+        assertThat(voteOptionRepository.findById(largeOption.getId()).orElseThrow().getVoteCount())
+                .isEqualTo(LARGE_POLL_VOTES);
+    }
+
+    // Runs the action and returns the number of prepared statements, checking no collection was loaded
+    private long countStatements(Supplier<Vote> action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(action.get()).isNotNull();
+
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Poll savePoll(String question, User creator) {
+        Poll poll = new Poll();
+        poll.setQuestion(question);
+        poll.setPublishedAt(Instant.now());
+        poll.setValidUntil(Instant.now().plusSeconds(3600));
+        poll.setCreatedBy(creator);
+        return pollRepository.save(poll);
+    }
+
+    private void seedAnonymousVotes(VoteOption option, int count) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{UUID.randomUUID(), now, option.getId(), option.getPoll().getId()});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO votes (id, published_at, voter_id, option_id, poll_id) VALUES (?, ?, NULL, ?, ?)", rows);
+        voteOptionRepository.adjustVoteCount(option.getId(), count);
+    }
+}